@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+#
+# Compares cold-start wall time of the CLI with and without the AppCDS archive.
+#
+# Build first with:  mvn package -Pcds
+# Usage:             scripts/startup-benchmark.sh [runs] [csv-file]
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+CSV="${2:-employees.csv}"
+JAR="target/employee-analyzer-1.0.0-jar-with-dependencies.jar"
+ARCHIVE="target/employee-analyzer.jsa"
+
+if [[ ! -f "$JAR" || ! -f "$ARCHIVE" ]]; then
+    echo "Missing $JAR or $ARCHIVE, run 'mvn package -Pcds' first." >&2
+    exit 1
+fi
+
+# Runs the CLI $RUNS times with the given JVM options and prints the mean wall time in ms
+measure() {
+    local label="$1"
+    shift
+    local total=0
+    for ((i = 0; i < RUNS; i++)); do
+        local start end
+        start=$(date +%s%N)
+        java "$@" -jar "$JAR" "$CSV" > /dev/null
+        end=$(date +%s%N)
+        total=$((total + (end - start) / 1000000))
+    done
+    printf "%-28s %5d ms (mean of %d runs)\n" "$label" $((total / RUNS)) "$RUNS"
+}
+
+measure "default" -Xshare:auto
+measure "AppCDS" -XX:SharedArchiveFile="$ARCHIVE"
+measure "AppCDS + C1 only" -XX:SharedArchiveFile="$ARCHIVE" -XX:TieredStopAtLevel=1 -XX:+UseSerialGC
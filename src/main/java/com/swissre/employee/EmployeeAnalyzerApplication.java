@@ -1,14 +1,30 @@
 package com.swissre.employee;
 
+import com.swissre.employee.analyzer.EmployeeSearchIndex;
 import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.analyzer.SalaryOutlierDetector;
+import com.swissre.employee.analyzer.SnapshotDiffer;
+import com.swissre.employee.analyzer.ViolationSummary;
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeMatch;
 import com.swissre.employee.model.ReportingLineResult;
 import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.SalaryOutlierResult;
+import com.swissre.employee.model.SnapshotDiff;
 import com.swissre.employee.parser.EmployeeDataParser;
 import com.swissre.employee.audit.ReportGenerator;
+import com.swissre.employee.progress.ConsoleProgressListener;
+import com.swissre.employee.progress.ProgressTracker;
+import com.swissre.employee.shard.ShardedAnalysis;
+import com.swissre.employee.shard.ShardedAnalyzer;
+import com.swissre.employee.watch.CsvDirectoryWatcher;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main application class for analyzing employee organizational structure.
@@ -19,9 +35,12 @@ import java.util.List;
  */
 public class EmployeeAnalyzerApplication {
 
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+
     private final EmployeeDataParser parser;
     private final OrganizationAnalyzer analyzer;
     private final ReportGenerator reporter;
+    private final CountDownLatch analysisFinished = new CountDownLatch(1);
 
     public EmployeeAnalyzerApplication() {
         this.parser = new EmployeeDataParser();
@@ -35,9 +54,22 @@ public class EmployeeAnalyzerApplication {
      * @param filePath path to the CSV file containing employee data
      */
     public void analyze(String filePath) {
+        analyze(filePath, ProgressTracker.NONE);
+    }
+
+    /**
+     * Analyzes employee data from the specified file and generates a report, reporting progress
+     * to the tracker. If the tracker is cancelled during an analysis pass, the report covers the
+     * results found so far; if it is cancelled while parsing, no report is generated.
+     *
+     * @param filePath path to the CSV file containing employee data
+     * @param tracker receives progress updates and may cancel the run
+     */
+    public void analyze(String filePath, ProgressTracker tracker) {
+        int exitStatus = 0;
         try {
             // Parse employee data
-            List<Employee> employees = parser.parseEmployeeData(filePath);
+            List<Employee> employees = parser.parseEmployeeData(filePath, tracker);
 
             if (employees.isEmpty()) {
                 System.out.println("No employee data found in file: " + filePath);
@@ -45,12 +77,69 @@ public class EmployeeAnalyzerApplication {
             }
 
             // Perform analysis
-            List<SalaryAnalysisResult> salaryResults = analyzer.analyzeSalaryCompliance(employees);
-            List<ReportingLineResult> reportingLineResults = analyzer.analyzeReportingLines(employees);
+            List<SalaryAnalysisResult> salaryResults = analyzer.analyzeSalaryCompliance(employees, tracker);
+            List<ReportingLineResult> reportingLineResults = analyzer.analyzeReportingLines(employees, tracker);
 
             // Generate report
             reporter.generateReport(salaryResults, reportingLineResults);
 
+            if (tracker.isCancelled()) {
+                System.out.println("Analysis was cancelled: the report above only covers part of the organization.");
+            }
+
+        } catch (CancellationException e) {
+            System.err.println("Analysis cancelled: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            exitStatus = 1;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data: " + e.getMessage());
+            exitStatus = 1;
+        } catch (Exception e) {
+            System.err.println("Unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            exitStatus = 1;
+        } finally {
+            analysisFinished.countDown();
+        }
+
+        if (exitStatus != 0) {
+            System.exit(exitStatus);
+        }
+    }
+
+    /**
+     * Cancels a running analysis when the JVM shuts down, e.g. on Ctrl+C, and waits
+     * briefly so the partial report can still be printed.
+     */
+    private void cancelOnShutdown(ProgressTracker tracker) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (analysisFinished.getCount() > 0) {
+                tracker.cancel();
+                try {
+                    analysisFinished.await(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "cancel-analysis"));
+    }
+
+    /**
+     * Compares two employee data files and generates a report of the changes between them.
+     *
+     * @param previousFilePath path to the older CSV export
+     * @param currentFilePath path to the newer CSV export
+     */
+    public void analyzeDiff(String previousFilePath, String currentFilePath) {
+        try {
+            List<Employee> previous = parser.parseEmployeeData(previousFilePath);
+            List<Employee> current = parser.parseEmployeeData(currentFilePath);
+
+            SnapshotDiff diff = new SnapshotDiffer(analyzer).diff(previous, current);
+
+            reporter.generateDiffReport(diff);
+
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
             System.exit(1);
@@ -64,12 +153,228 @@ public class EmployeeAnalyzerApplication {
         }
     }
 
+    /**
+     * Finds employees paid far above or below their peers on the same level or in the same subtree.
+     *
+     * @param filePath path to the CSV file containing employee data
+     */
+    public void analyzeOutliers(String filePath) {
+        try {
+            List<Employee> employees = parser.parseEmployeeData(filePath);
+
+            List<SalaryOutlierResult> outliers = new SalaryOutlierDetector().detectOutliers(employees);
+
+            reporter.generateOutlierReport(outliers);
+
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data: " + e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("Unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Analyzes employee data and prints only the number of violations and their totals.
+     * Individual results are aggregated as they are found instead of being collected.
+     *
+     * @param filePath path to the CSV file containing employee data
+     */
+    public void analyzeSummary(String filePath) {
+        try {
+            List<Employee> employees = parser.parseEmployeeData(filePath);
+
+            ViolationSummary summary = new ViolationSummary();
+            analyzer.analyze(employees, summary);
+
+            reporter.generateSummaryReport(employees.size(), summary);
+
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data: " + e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("Unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Analyzes employee data in worker processes, one per subtree shard below the cut depth,
+     * and generates the same report as {@link #analyze(String)}.
+     *
+     * @param filePath path to the CSV file containing employee data
+     * @param cutDepth number of managers above the employees that root the subtree shards
+     * @param workers number of subtree shards analyzed in parallel
+     */
+    public void analyzeSharded(String filePath, int cutDepth, int workers) {
+        try {
+            ShardedAnalysis analysis = new ShardedAnalyzer(cutDepth, workers).analyze(filePath);
+
+            reporter.generateReport(analysis.getSalaryResults(), analysis.getReportingLineResults());
+
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data: " + e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("Unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Searches employees by ID or name prefix and prints each match with their manager chain
+     * and compliance issues.
+     *
+     * @param filePath path to the CSV file containing employee data
+     * @param query employee ID or the start of a first, last or full name
+     */
+    public void search(String filePath, String query) {
+        try {
+            List<Employee> employees = parser.parseEmployeeData(filePath);
+
+            EmployeeSearchIndex index = new EmployeeSearchIndex(employees, analyzer);
+            EmployeeMatch byId = index.findById(query);
+            List<EmployeeMatch> matches = byId != null ? List.of(byId) : index.searchByName(query);
+
+            reporter.generateSearchReport(query, matches);
+
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data: " + e.getMessage());
+            System.exit(1);
+        } catch (Exception e) {
+            System.err.println("Unexpected error occurred: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Watches a directory and re-analyzes CSV files whenever they are created or modified.
+     * Runs until the process is stopped.
+     *
+     * @param directoryPath directory to watch
+     */
+    public void watch(String directoryPath) {
+        try {
+            System.out.println("Watching " + directoryPath + " for CSV files. Press Ctrl+C to stop.");
+            new CsvDirectoryWatcher(Paths.get(directoryPath), parser, analyzer, reporter).run();
+
+        } catch (IOException e) {
+            System.err.println("Error watching directory: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Main entry point for the application.
      *
-     * @param args command line arguments, expects one argument: path to CSV file
+     * @param args command line arguments, expects one argument: path to CSV file,
+     *             or {@code --diff <previous-csv> <current-csv>} to compare two exports,
+     *             or {@code --watch <directory>} to re-analyze CSV files as they land,
+     *             or {@code --outliers <csv>} to find salaries far from their peers,
+     *             or {@code --progress <csv>} to show live progress and allow cancelling with Ctrl+C,
+     *             or {@code --search <csv> <id-or-name>} to look up employees,
+     *             or {@code --shards <csv> <cut-depth> [workers]} to analyze subtrees in worker processes,
+     *             or {@code --summary <csv>} to print only violation counts and totals
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--diff")) {
+            if (args.length != 3) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --diff <previous-csv> <current-csv>");
+                System.exit(1);
+            }
+            new EmployeeAnalyzerApplication().analyzeDiff(args[1], args[2]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--watch")) {
+            if (args.length != 2) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --watch <directory>");
+                System.exit(1);
+            }
+            new EmployeeAnalyzerApplication().watch(args[1]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--outliers")) {
+            if (args.length != 2) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --outliers <path-to-csv-file>");
+                System.exit(1);
+            }
+            new EmployeeAnalyzerApplication().analyzeOutliers(args[1]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--summary")) {
+            if (args.length != 2) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --summary <path-to-csv-file>");
+                System.exit(1);
+            }
+            new EmployeeAnalyzerApplication().analyzeSummary(args[1]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--shards")) {
+            String usage = "Usage: java -jar employee-analyzer.jar --shards <path-to-csv-file> <cut-depth> [workers]";
+            if (args.length != 3 && args.length != 4) {
+                System.err.println(usage);
+                System.exit(1);
+            }
+            int cutDepth;
+            int workers;
+            try {
+                cutDepth = Integer.parseInt(args[2]);
+                workers = args.length == 4
+                        ? Integer.parseInt(args[3])
+                        : Runtime.getRuntime().availableProcessors();
+            } catch (NumberFormatException e) {
+                System.err.println(usage);
+                System.exit(1);
+                return;
+            }
+            new EmployeeAnalyzerApplication().analyzeSharded(args[1], cutDepth, workers);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--search")) {
+            if (args.length != 3) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --search <path-to-csv-file> <id-or-name>");
+                System.exit(1);
+            }
+            new EmployeeAnalyzerApplication().search(args[1], args[2]);
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--progress")) {
+            if (args.length != 2) {
+                System.err.println("Usage: java -jar employee-analyzer.jar --progress <path-to-csv-file>");
+                System.exit(1);
+            }
+            EmployeeAnalyzerApplication app = new EmployeeAnalyzerApplication();
+            ProgressTracker tracker = new ProgressTracker(new ConsoleProgressListener(System.err));
+            app.cancelOnShutdown(tracker);
+            app.analyze(args[1], tracker);
+            return;
+        }
+
         String filePath;
 
         if (args.length != 1) {
@@ -79,6 +384,13 @@ public class EmployeeAnalyzerApplication {
             System.out.println();
             System.out.println("Usage: java -jar employee-analyzer.jar <path-to-csv-file>");
             System.out.println("Example: java -jar employee-analyzer.jar employees.csv");
+            System.out.println("Diff:    java -jar employee-analyzer.jar --diff <previous-csv> <current-csv>");
+            System.out.println("Watch:   java -jar employee-analyzer.jar --watch <directory>");
+            System.out.println("Peers:   java -jar employee-analyzer.jar --outliers <path-to-csv-file>");
+            System.out.println("Live:    java -jar employee-analyzer.jar --progress <path-to-csv-file>");
+            System.out.println("Search:  java -jar employee-analyzer.jar --search <path-to-csv-file> <id-or-name>");
+            System.out.println("Summary: java -jar employee-analyzer.jar --summary <path-to-csv-file>");
+            System.out.println("Shards:  java -jar employee-analyzer.jar --shards <path-to-csv-file> <cut-depth> [workers]");
             System.out.println();
 
             // Use sample CSV file for demonstration
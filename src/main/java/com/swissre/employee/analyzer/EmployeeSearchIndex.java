@@ -0,0 +1,205 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeMatch;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Looks up employees by ID or by a name prefix, returning each match with its manager chain
+ * and compliance issues.
+ *
+ * Every employee is indexed under two normalized keys, "first last" and "last", kept in one
+ * sorted array, so a prefix of either the first or the last name is found by binary search
+ * followed by a scan over the matching range. Names are compared lowercase with accents
+ * and repeated whitespace removed. The compliance analysis runs once when the index is built;
+ * a lookup then costs O(log n + matches + chain length).
+ */
+public class EmployeeSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReportingPathIndex pathIndex;
+    private final String[] names;
+    private final int[] owners; // dense employee index of each name
+    private final SalaryAnalysisResult[] salaryIssues;
+    private final ReportingLineResult[] reportingLineIssues;
+
+    public EmployeeSearchIndex(List<Employee> employees) {
+        this(employees, new OrganizationAnalyzer());
+    }
+
+    /**
+     * Builds the index for employees whose hierarchy has already been established.
+     *
+     * @param employees all employees of the organization
+     * @param analyzer the analyzer used to find compliance issues
+     * @throws IllegalArgumentException if the reporting lines contain a cycle
+     */
+    public EmployeeSearchIndex(List<Employee> employees, OrganizationAnalyzer analyzer) {
+        this.pathIndex = new ReportingPathIndex(employees);
+        int size = pathIndex.size();
+
+        NameKey[] keys = new NameKey[size * 2];
+        for (int i = 0; i < size; i++) {
+            Employee employee = pathIndex.employeeAt(i);
+            String lastName = normalize(employee.getLastName());
+            keys[2 * i] = new NameKey(normalize(employee.getFirstName() + " " + employee.getLastName()), i);
+            keys[2 * i + 1] = new NameKey(lastName, i);
+        }
+        Arrays.sort(keys);
+
+        this.names = new String[keys.length];
+        this.owners = new int[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            names[k] = keys[k].name;
+            owners[k] = keys[k].owner;
+        }
+
+        this.salaryIssues = new SalaryAnalysisResult[size];
+        for (SalaryAnalysisResult result : analyzer.analyzeSalaryCompliance(employees)) {
+            salaryIssues[pathIndex.indexOf(result.getManager().getId())] = result;
+        }
+        this.reportingLineIssues = new ReportingLineResult[size];
+        for (ReportingLineResult result : analyzer.analyzeReportingLines(employees)) {
+            reportingLineIssues[pathIndex.indexOf(result.getEmployee().getId())] = result;
+        }
+    }
+
+    /**
+     * Finds an employee by ID.
+     *
+     * @return the match, or null if no employee has the ID
+     */
+    public EmployeeMatch findById(String employeeId) {
+        int index = pathIndex.indexOf(employeeId.trim());
+        return index < 0 ? null : match(index);
+    }
+
+    /**
+     * Finds up to {@value #DEFAULT_LIMIT} employees whose first or last name starts with the query.
+     */
+    public List<EmployeeMatch> searchByName(String query) {
+        return searchByName(query, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Finds employees whose first or last name starts with the query, or whose full name
+     * starts with it when it contains a space, in alphabetical order of the matched name.
+     *
+     * @param query name prefix, matched ignoring case and accents
+     * @param limit maximum number of matches to return
+     * @return the matches, empty if the query is blank
+     */
+    public List<EmployeeMatch> searchByName(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        String prefix = normalize(query);
+        List<EmployeeMatch> matches = new ArrayList<>();
+        if (prefix.isEmpty()) {
+            return matches;
+        }
+
+        // Both keys of an employee can match, e.g. "an" for Anna Andrews
+        Set<Integer> seen = new HashSet<>();
+        for (int k = lowerBound(prefix); k < names.length && names[k].startsWith(prefix); k++) {
+            if (seen.add(owners[k])) {
+                matches.add(match(owners[k]));
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return pathIndex.size();
+    }
+
+    private EmployeeMatch match(int index) {
+        Employee employee = pathIndex.employeeAt(index);
+        List<Employee> chain = pathIndex.getReportingChain(employee);
+        return new EmployeeMatch(employee, chain.subList(1, chain.size()),
+                salaryIssues[index], reportingLineIssues[index]);
+    }
+
+    /**
+     * Finds the first name key that is not smaller than the prefix.
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (names[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Lowercases a name, strips accents and collapses whitespace to single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * A normalized name and the employee it belongs to, used only while sorting.
+     */
+    private static class NameKey implements Comparable<NameKey> {
+        final String name;
+        final int owner;
+
+        NameKey(String name, int owner) {
+            this.name = name;
+            this.owner = owner;
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            int byName = name.compareTo(other.name);
+            return byName != 0 ? byName : Integer.compare(owner, other.owner);
+        }
+    }
+}
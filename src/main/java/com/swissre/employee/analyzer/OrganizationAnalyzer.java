@@ -3,17 +3,21 @@ package com.swissre.employee.analyzer;
 import com.swissre.employee.model.Employee;
 import com.swissre.employee.model.ReportingLineResult;
 import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.progress.ProgressPhase;
+import com.swissre.employee.progress.ProgressTracker;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Analyzes organizational structure for salary compliance and reporting line issues.
  */
 public class OrganizationAnalyzer {
 
-    private static final double MIN_SALARY_RATIO = 1.20; // 20% more than average
-    private static final double MAX_SALARY_RATIO = 1.50; // 50% more than average
+    private static final int MIN_SALARY_PERCENT = 120; // 20% more than average
+    private static final int MAX_SALARY_PERCENT = 150; // 50% more than average
     private static final int MAX_MANAGER_LEVELS = 4;
 
     /**
@@ -23,35 +27,78 @@ public class OrganizationAnalyzer {
      * @return list of salary analysis results for managers with issues
      */
     public List<SalaryAnalysisResult> analyzeSalaryCompliance(List<Employee> employees) {
-        List<SalaryAnalysisResult> results = new ArrayList<>();
+        return analyzeSalaryCompliance(employees, ProgressTracker.NONE);
+    }
+
+    /**
+     * Analyzes manager salaries, reporting progress to the tracker. If the tracker is
+     * cancelled, the results found so far are returned.
+     *
+     * @param employees list of all employees
+     * @param tracker receives progress updates and may cancel the run
+     * @return list of salary analysis results for managers with issues
+     */
+    public List<SalaryAnalysisResult> analyzeSalaryCompliance(List<Employee> employees,
+                                                              ProgressTracker tracker) {
+        ResultCollector collector = new ResultCollector();
+        analyzeSalaryCompliance(employees, tracker, collector);
+        return collector.salaryResults;
+    }
+
+    /**
+     * Analyzes manager salaries and passes each violation to the sink. Compliant managers
+     * are checked on primitive cents and never materialized as result objects.
+     *
+     * @param employees list of all employees
+     * @param sink receives the salary violations
+     */
+    public void analyzeSalaryCompliance(List<Employee> employees, ViolationSink sink) {
+        analyzeSalaryCompliance(employees, ProgressTracker.NONE, sink);
+    }
+
+    private void analyzeSalaryCompliance(List<Employee> employees, ProgressTracker tracker,
+                                         ViolationSink sink) {
+        tracker.start(ProgressPhase.SALARY_ANALYSIS, employees.size());
+        long processed = 0;
 
         for (Employee employee : employees) {
+            if (!tracker.step(processed)) {
+                break;
+            }
+            processed++;
             if (employee.isManager()) {
-                SalaryAnalysisResult result = analyzeManagerSalary(employee);
-                if (result.hasIssue()) {
-                    results.add(result);
+                long subordinateTotalCents = employee.getDirectReportSalaryTotalCents();
+                int subordinateCount = employee.getDirectReports().size();
+                if (!SalaryAnalysisResult.isWithinBand(employee.getSalaryCents(), subordinateTotalCents,
+                        subordinateCount, MIN_SALARY_PERCENT, MAX_SALARY_PERCENT)) {
+                    sink.onSalaryViolation(analyzeManagerSalary(employee, subordinateTotalCents, subordinateCount));
                 }
             }
         }
 
-        return results;
+        tracker.finish(processed);
     }
 
     /**
-     * Analyzes a single manager's salary against their subordinates' average.
+     * Analyzes a manager's salary against their subordinates' average, given the total and count
+     * of their direct reports' salaries. The comparison is done on exact cents without dividing by
+     * the subordinate count. The reports need not be linked, e.g. when they were totalled by a
+     * worker process that held them.
+     *
+     * @param manager the manager, whose direct reports need not be linked
+     * @param subordinateSalaryTotalCents sum of the direct reports' salaries in cents
+     * @param subordinateCount number of direct reports
+     * @return the analysis result, which may or may not have an issue
      */
-    private SalaryAnalysisResult analyzeManagerSalary(Employee manager) {
-        double averageSubordinateSalary = manager.getAverageDirectReportSalary();
-        double actualSalary = manager.getSalary();
-        double minimumExpectedSalary = averageSubordinateSalary * MIN_SALARY_RATIO;
-        double maximumExpectedSalary = averageSubordinateSalary * MAX_SALARY_RATIO;
-
+    public SalaryAnalysisResult analyzeManagerSalary(Employee manager, long subordinateSalaryTotalCents,
+                                                     int subordinateCount) {
         return new SalaryAnalysisResult(
                 manager,
-                actualSalary,
-                averageSubordinateSalary,
-                minimumExpectedSalary,
-                maximumExpectedSalary
+                manager.getSalaryCents(),
+                subordinateSalaryTotalCents,
+                subordinateCount,
+                MIN_SALARY_PERCENT,
+                MAX_SALARY_PERCENT
         );
     }
 
@@ -62,12 +109,62 @@ public class OrganizationAnalyzer {
      * @return list of employees with excessive reporting lines
      */
     public List<ReportingLineResult> analyzeReportingLines(List<Employee> employees) {
-        List<ReportingLineResult> results = new ArrayList<>();
+        return analyzeReportingLines(employees, ProgressTracker.NONE);
+    }
+
+    /**
+     * Identifies employees with reporting lines that are too long, reporting progress to
+     * the tracker. If the tracker is cancelled, the results found so far are returned.
+     *
+     * @param employees list of all employees
+     * @param tracker receives progress updates and may cancel the run
+     * @return list of employees with excessive reporting lines
+     */
+    public List<ReportingLineResult> analyzeReportingLines(List<Employee> employees,
+                                                           ProgressTracker tracker) {
+        ResultCollector collector = new ResultCollector();
+        analyzeReportingLines(employees, 0, tracker, collector);
+        return collector.reportingLineResults;
+    }
+
+    /**
+     * Identifies employees with reporting lines that are too long in part of an organization
+     * whose top employees have further managers that are not in the list.
+     *
+     * @param employees employees of the subtrees, with hierarchy built
+     * @param managerLevelsAbove number of managers above the subtrees' top employees
+     * @return list of employees with excessive reporting lines, counted up to the real CEO
+     */
+    public List<ReportingLineResult> analyzeReportingLines(List<Employee> employees, int managerLevelsAbove) {
+        ResultCollector collector = new ResultCollector();
+        analyzeReportingLines(employees, managerLevelsAbove, ProgressTracker.NONE, collector);
+        return collector.reportingLineResults;
+    }
+
+    /**
+     * Identifies employees with reporting lines that are too long and passes each one to the sink.
+     *
+     * @param employees list of all employees
+     * @param sink receives the reporting line violations
+     */
+    public void analyzeReportingLines(List<Employee> employees, ViolationSink sink) {
+        analyzeReportingLines(employees, 0, ProgressTracker.NONE, sink);
+    }
+
+    private void analyzeReportingLines(List<Employee> employees, int managerLevelsAbove,
+                                       ProgressTracker tracker, ViolationSink sink) {
+        tracker.start(ProgressPhase.REPORTING_LINE_ANALYSIS, employees.size());
+        ManagerLevelCounter counter = new ManagerLevelCounter();
+        long processed = 0;
 
         for (Employee employee : employees) {
-            int managerLevels = employee.getManagerLevels();
+            if (!tracker.step(processed)) {
+                break;
+            }
+            processed++;
+            int managerLevels = managerLevelsAbove + counter.count(employee);
             if (managerLevels > MAX_MANAGER_LEVELS) {
-                results.add(new ReportingLineResult(
+                sink.onReportingLineViolation(new ReportingLineResult(
                         employee,
                         managerLevels,
                         MAX_MANAGER_LEVELS
@@ -75,21 +172,32 @@ public class OrganizationAnalyzer {
             }
         }
 
-        return results;
+        tracker.finish(processed);
+    }
+
+    /**
+     * Runs both analyses and passes every violation to the sink, salary violations first.
+     *
+     * @param employees list of all employees
+     * @param sink receives the violations
+     */
+    public void analyze(List<Employee> employees, ViolationSink sink) {
+        analyzeSalaryCompliance(employees, sink);
+        analyzeReportingLines(employees, sink);
     }
 
     /**
      * Gets the minimum salary ratio (20% more than average).
      */
     public double getMinSalaryRatio() {
-        return MIN_SALARY_RATIO;
+        return MIN_SALARY_PERCENT / 100.0;
     }
 
     /**
      * Gets the maximum salary ratio (50% more than average).
      */
     public double getMaxSalaryRatio() {
-        return MAX_SALARY_RATIO;
+        return MAX_SALARY_PERCENT / 100.0;
     }
 
     /**
@@ -98,4 +206,65 @@ public class OrganizationAnalyzer {
     public int getMaxManagerLevels() {
         return MAX_MANAGER_LEVELS;
     }
-}
\ No newline at end of file
+
+    /**
+     * Collects violations into the lists returned by the list-based methods.
+     */
+    private static class ResultCollector implements ViolationSink {
+        final List<SalaryAnalysisResult> salaryResults = new ArrayList<>();
+        final List<ReportingLineResult> reportingLineResults = new ArrayList<>();
+
+        @Override
+        public void onSalaryViolation(SalaryAnalysisResult result) {
+            salaryResults.add(result);
+        }
+
+        @Override
+        public void onReportingLineViolation(ReportingLineResult result) {
+            reportingLineResults.add(result);
+        }
+    }
+
+    /**
+     * Counts the managers above employees during one pass. Counts of managers at or below the
+     * reporting line limit are remembered, so a walk up a long chain stops at the first deep manager
+     * already seen instead of reaching the CEO. Every deep manager is walked past at most once,
+     * which keeps the pass linear even for a chain thousands of levels deep. Shallow walks stay
+     * within the limit and employees without reports are never walked past, so neither is remembered.
+     */
+    private static class ManagerLevelCounter {
+        private final Map<Employee, Integer> deepLevels = new IdentityHashMap<>();
+        private final List<Employee> path = new ArrayList<>();
+
+        int count(Employee employee) {
+            int levelsAbovePath = 0;
+            Employee current = employee.getManager();
+            while (current != null) {
+                Integer known = deepLevels.get(current);
+                if (known != null) {
+                    levelsAbovePath = known + 1;
+                    break;
+                }
+                path.add(current);
+                current = current.getManager();
+            }
+
+            int levels = path.size() + levelsAbovePath;
+            if (employee.isManager()) {
+                remember(employee, levels);
+            }
+            // Everyone on the path has direct reports
+            for (int k = 0; k < path.size(); k++) {
+                remember(path.get(k), levels - k - 1);
+            }
+            path.clear();
+            return levels;
+        }
+
+        private void remember(Employee employee, int levels) {
+            if (levels >= MAX_MANAGER_LEVELS) {
+                deepLevels.put(employee, levels);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.swissre.employee.analyzer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Salary quantile sketches per organization level and per subtree.
+ *
+ * Sketches built from separate chunks of employees can be merged, so the
+ * peer group distributions can be collected in parallel.
+ *
+ * The number of sketches is bounded: levels from {@link #MAX_LEVEL_GROUPS} - 1 down share one
+ * group, and once there are more than {@link #MAX_SUBTREE_GROUPS} subtrees, every subtree shares a
+ * sketch with the others whose root ID hashes to the same of {@code MAX_SUBTREE_GROUPS} slots. The
+ * slot depends only on the ID, so merged chunks give the same sketches however the input was split.
+ * Memory is therefore at most {@code (MAX_LEVEL_GROUPS + MAX_SUBTREE_GROUPS + 1) * QuantileSketch.DEFAULT_MAX_BUCKETS}
+ * counters, no matter how deep or wide the organization is.
+ */
+public class PeerGroupSketches {
+    public static final int MAX_LEVEL_GROUPS = 32;
+    public static final int MAX_SUBTREE_GROUPS = 1024;
+
+    private final double relativeAccuracy;
+    private final Map<Integer, QuantileSketch> byLevel = new HashMap<>();
+    private final Map<String, QuantileSketch> bySubtree = new HashMap<>();
+    private QuantileSketch[] sharedSubtrees; // set once there are too many subtrees to keep apart
+
+    public PeerGroupSketches(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * Records a salary for a level and, if the employee belongs to one, a subtree.
+     *
+     * @param level number of managers above the employee
+     * @param subtreeId ID of the subtree's top manager, or null
+     * @param salaryCents salary in cents
+     */
+    public void add(int level, String subtreeId, long salaryCents) {
+        sketchFor(byLevel, levelGroup(level)).add(salaryCents);
+        if (subtreeId != null) {
+            subtreeSketchFor(subtreeId).add(salaryCents);
+        }
+    }
+
+    /**
+     * Adds all salaries recorded by another instance to this one.
+     */
+    public void merge(PeerGroupSketches other) {
+        for (Map.Entry<Integer, QuantileSketch> entry : other.byLevel.entrySet()) {
+            sketchFor(byLevel, entry.getKey()).merge(entry.getValue());
+        }
+        if (other.sharedSubtrees != null) {
+            shareSubtrees();
+            for (int slot = 0; slot < MAX_SUBTREE_GROUPS; slot++) {
+                if (other.sharedSubtrees[slot] != null) {
+                    sharedSketch(slot).merge(other.sharedSubtrees[slot]);
+                }
+            }
+        }
+        for (Map.Entry<String, QuantileSketch> entry : other.bySubtree.entrySet()) {
+            subtreeSketchFor(entry.getKey()).merge(entry.getValue());
+        }
+    }
+
+    /**
+     * Gets the sketch for a level's group, or null if no salary was recorded for it.
+     */
+    public QuantileSketch getLevelSketch(int level) {
+        return byLevel.get(levelGroup(level));
+    }
+
+    /**
+     * Gets the sketch for a subtree, shared with other subtrees if there are too many to keep apart,
+     * or null if no salary was recorded for it.
+     */
+    public QuantileSketch getSubtreeSketch(String subtreeId) {
+        if (sharedSubtrees != null) {
+            return sharedSubtrees[slotOf(subtreeId)];
+        }
+        return bySubtree.get(subtreeId);
+    }
+
+    /**
+     * Checks whether subtrees share sketches because there are more than {@link #MAX_SUBTREE_GROUPS} of them.
+     */
+    public boolean hasSharedSubtreeGroups() {
+        return sharedSubtrees != null;
+    }
+
+    /**
+     * Gets the name of the group a level belongs to, e.g. {@code 3} or {@code 31+} for the shared deepest group.
+     */
+    public static String levelGroupName(int level) {
+        int group = levelGroup(level);
+        return group < MAX_LEVEL_GROUPS - 1 ? String.valueOf(group) : group + "+";
+    }
+
+    public int getLevelGroupCount() {
+        return byLevel.size();
+    }
+
+    public int getSubtreeGroupCount() {
+        if (sharedSubtrees == null) {
+            return bySubtree.size();
+        }
+        int count = 0;
+        for (QuantileSketch sketch : sharedSubtrees) {
+            if (sketch != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int levelGroup(int level) {
+        return Math.min(level, MAX_LEVEL_GROUPS - 1);
+    }
+
+    private QuantileSketch subtreeSketchFor(String subtreeId) {
+        if (sharedSubtrees == null && bySubtree.size() >= MAX_SUBTREE_GROUPS && !bySubtree.containsKey(subtreeId)) {
+            shareSubtrees();
+        }
+        if (sharedSubtrees != null) {
+            return sharedSketch(slotOf(subtreeId));
+        }
+        return sketchFor(bySubtree, subtreeId);
+    }
+
+    /**
+     * Moves every subtree's salaries into the sketch of its slot. Merging is exact, so the result
+     * is the same as if the subtrees had shared sketches from the start.
+     */
+    private void shareSubtrees() {
+        if (sharedSubtrees != null) {
+            return;
+        }
+        sharedSubtrees = new QuantileSketch[MAX_SUBTREE_GROUPS];
+        for (Map.Entry<String, QuantileSketch> entry : bySubtree.entrySet()) {
+            sharedSketch(slotOf(entry.getKey())).merge(entry.getValue());
+        }
+        bySubtree.clear();
+    }
+
+    private QuantileSketch sharedSketch(int slot) {
+        QuantileSketch sketch = sharedSubtrees[slot];
+        if (sketch == null) {
+            sketch = new QuantileSketch(relativeAccuracy, QuantileSketch.DEFAULT_MAX_BUCKETS);
+            sharedSubtrees[slot] = sketch;
+        }
+        return sketch;
+    }
+
+    private static int slotOf(String subtreeId) {
+        return Math.floorMod(subtreeId.hashCode(), MAX_SUBTREE_GROUPS);
+    }
+
+    private <K> QuantileSketch sketchFor(Map<K, QuantileSketch> sketches, K key) {
+        QuantileSketch sketch = sketches.get(key);
+        if (sketch == null) {
+            sketch = new QuantileSketch(relativeAccuracy, QuantileSketch.DEFAULT_MAX_BUCKETS);
+            sketches.put(key, sketch);
+        }
+        return sketch;
+    }
+}
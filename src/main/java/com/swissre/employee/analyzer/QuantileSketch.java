@@ -0,0 +1,198 @@
+package com.swissre.employee.analyzer;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable streaming quantile sketch for non-negative amounts with a relative accuracy guarantee.
+ *
+ * Values are counted in logarithmically sized buckets, so any quantile is estimated within
+ * the configured relative error of a true value at that rank. Memory is bounded by the number
+ * of buckets, which is at most {@code maxBuckets}; if a very wide range of values is seen, the
+ * lowest buckets are collapsed together and only low quantiles lose accuracy. Two sketches with
+ * the same accuracy can be merged by adding their bucket counts, which gives exactly the sketch
+ * of the combined input.
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    private static final int ZERO_BUCKET = Integer.MIN_VALUE;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int maxBuckets;
+
+    private long[] counts = new long[0];
+    private int minIndex; // bucket index of counts[0]
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+    }
+
+    /**
+     * @param relativeAccuracy maximum relative error of quantile estimates, between 0 and 1
+     * @param maxBuckets maximum number of buckets kept in memory
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("At least one bucket is required: " + maxBuckets);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Adds a non-negative value to the sketch.
+     */
+    public void add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative: " + value);
+        }
+        count++;
+        if (value == 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        int slot = ensureBucket(index);
+        counts[slot]++;
+    }
+
+    /**
+     * Adds all values counted by another sketch with the same accuracy to this sketch.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracies");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        count += other.count;
+        zeroCount += other.zeroCount;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                int slot = ensureBucket(other.minIndex + i);
+                counts[slot] += other.counts[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the value at a quantile.
+     *
+     * @param quantile quantile between 0 and 1, e.g. 0.95 for the 95th percentile
+     * @return the estimated value, or 0 if the sketch is empty
+     */
+    public long getQuantile(double quantile) {
+        int bucket = findBucket(quantile);
+        return bucket == ZERO_BUCKET ? 0 : Math.round(2 * Math.pow(gamma, bucket) / (gamma + 1));
+    }
+
+    /**
+     * Gets the smallest value that can fall into the bucket holding a quantile.
+     * Any value below it is certainly below the quantile.
+     */
+    public long getQuantileFloor(double quantile) {
+        int bucket = findBucket(quantile);
+        return bucket == ZERO_BUCKET ? 0 : (long) Math.floor(Math.pow(gamma, bucket - 1));
+    }
+
+    /**
+     * Gets the largest value that can fall into the bucket holding a quantile.
+     * Any value above it is certainly above the quantile.
+     */
+    public long getQuantileCeiling(double quantile) {
+        int bucket = findBucket(quantile);
+        return bucket == ZERO_BUCKET ? 0 : (long) Math.ceil(Math.pow(gamma, bucket));
+    }
+
+    /**
+     * Finds the index of the bucket containing the value at a quantile.
+     */
+    private int findBucket(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+
+        long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (count == 0 || rank < seen) {
+            return ZERO_BUCKET;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return minIndex + i;
+            }
+        }
+        return minIndex + counts.length - 1;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the slot of a bucket index in the counts array, growing or collapsing the array as needed.
+     */
+    private int ensureBucket(int index) {
+        if (counts.length == 0) {
+            counts = new long[Math.min(16, maxBuckets)];
+            minIndex = index;
+            return 0;
+        }
+
+        if (index < minIndex) {
+            int needed = counts.length + (minIndex - index);
+            if (needed > maxBuckets) {
+                // Out of room below, count it in the lowest kept bucket
+                return 0;
+            }
+            long[] grown = new long[needed];
+            System.arraycopy(counts, 0, grown, minIndex - index, counts.length);
+            counts = grown;
+            minIndex = index;
+            return 0;
+        }
+
+        int slot = index - minIndex;
+        if (slot < counts.length) {
+            return slot;
+        }
+
+        int needed = slot + 1;
+        if (needed > maxBuckets) {
+            collapseBelow(index - maxBuckets + 1);
+            return maxBuckets - 1;
+        }
+        counts = Arrays.copyOf(counts, Math.min(maxBuckets, Math.max(needed, counts.length * 2)));
+        return slot;
+    }
+
+    /**
+     * Moves the lowest bucket up to the given index, folding every lower bucket into it,
+     * so that higher buckets fit within the bucket limit.
+     */
+    private void collapseBelow(int newMinIndex) {
+        long[] collapsed = new long[maxBuckets];
+        for (int i = 0; i < counts.length; i++) {
+            collapsed[Math.max(0, minIndex + i - newMinIndex)] += counts[i];
+        }
+        counts = collapsed;
+        minIndex = newMinIndex;
+    }
+}
@@ -0,0 +1,204 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers reporting path queries over a built hierarchy: lowest common manager,
+ * k-th manager above an employee and path length between two employees.
+ *
+ * The index uses binary lifting: for every employee it stores the manager 2^j levels up,
+ * for j up to log2 of the maximum depth. Building takes O(n log d) time and memory;
+ * depth lookups are O(1) and the other queries O(log d). Queries are also available on
+ * dense int indexes, so large batches avoid hashing employee IDs.
+ */
+public class ReportingPathIndex {
+
+    private static final int NO_EMPLOYEE = -1;
+
+    private final Employee[] employees;
+    private final Map<String, Integer> indexById;
+    private final int[] depth;
+    // ancestors[j][i] is the manager 2^j levels above employee i, or i itself past the top
+    private final int[][] ancestors;
+
+    /**
+     * Builds the index for employees whose hierarchy has already been established.
+     *
+     * @param employees all employees of the organization
+     * @throws IllegalArgumentException if the reporting lines contain a cycle
+     */
+    public ReportingPathIndex(List<Employee> employees) {
+        int size = employees.size();
+        this.employees = new Employee[size];
+        this.indexById = new HashMap<>((int) (size / 0.75f) + 1);
+        this.depth = new int[size];
+        int[] parent = new int[size];
+
+        // Breadth-first from the top so every manager is indexed before their reports
+        int count = 0;
+        for (Employee employee : employees) {
+            if (employee.getManager() == null) {
+                parent[count] = count;
+                add(employee, count++);
+            }
+        }
+        int maxDepth = 0;
+        for (int head = 0; head < count; head++) {
+            for (Employee report : this.employees[head].getDirectReports()) {
+                parent[count] = head;
+                depth[count] = depth[head] + 1;
+                maxDepth = Math.max(maxDepth, depth[count]);
+                add(report, count++);
+            }
+        }
+
+        if (count != size) {
+            throw new IllegalArgumentException(String.format(
+                    "Reporting lines contain a cycle: %d employees cannot reach a CEO", size - count));
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(maxDepth, 1));
+        this.ancestors = new int[levels][];
+        this.ancestors[0] = parent;
+        for (int j = 1; j < levels; j++) {
+            int[] previous = ancestors[j - 1];
+            int[] current = new int[size];
+            for (int i = 0; i < size; i++) {
+                current[i] = previous[previous[i]];
+            }
+            ancestors[j] = current;
+        }
+    }
+
+    private void add(Employee employee, int index) {
+        employees[index] = employee;
+        indexById.put(employee.getId(), index);
+    }
+
+    /**
+     * Gets the dense index of an employee, or -1 if the ID is unknown.
+     */
+    public int indexOf(String employeeId) {
+        Integer index = indexById.get(employeeId);
+        return index == null ? NO_EMPLOYEE : index;
+    }
+
+    /**
+     * Gets the employee at a dense index.
+     */
+    public Employee employeeAt(int index) {
+        return employees[index];
+    }
+
+    public int size() {
+        return employees.length;
+    }
+
+    /**
+     * Gets the number of managers between an employee and the CEO.
+     */
+    public int getDepth(Employee employee) {
+        return depth[requireIndex(employee)];
+    }
+
+    public int getDepth(int index) {
+        return depth[index];
+    }
+
+    /**
+     * Gets the manager k levels above an employee; k = 0 returns the employee itself.
+     *
+     * @return the manager, or null if the employee has fewer than k managers
+     */
+    public Employee getKthManager(Employee employee, int k) {
+        int index = getKthManager(requireIndex(employee), k);
+        return index == NO_EMPLOYEE ? null : employees[index];
+    }
+
+    public int getKthManager(int index, int k) {
+        if (k < 0 || k > depth[index]) {
+            return NO_EMPLOYEE;
+        }
+        for (int j = 0; k != 0; j++, k >>>= 1) {
+            if ((k & 1) != 0) {
+                index = ancestors[j][index];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Finds the lowest manager shared by two employees. If one employee is in the other's
+     * reporting line, that employee is returned.
+     *
+     * @return the lowest common manager, or null if the employees report to different CEOs
+     */
+    public Employee getLowestCommonManager(Employee first, Employee second) {
+        int index = getLowestCommonManager(requireIndex(first), requireIndex(second));
+        return index == NO_EMPLOYEE ? null : employees[index];
+    }
+
+    public int getLowestCommonManager(int first, int second) {
+        if (depth[first] < depth[second]) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        first = getKthManager(first, depth[first] - depth[second]);
+        if (first == second) {
+            return first;
+        }
+        for (int j = ancestors.length - 1; j >= 0; j--) {
+            if (ancestors[j][first] != ancestors[j][second]) {
+                first = ancestors[j][first];
+                second = ancestors[j][second];
+            }
+        }
+        int parent = ancestors[0][first];
+        return parent == ancestors[0][second] ? parent : NO_EMPLOYEE;
+    }
+
+    /**
+     * Counts the reporting line steps from one employee to another via their lowest common manager.
+     *
+     * @return the number of steps, or -1 if the employees report to different CEOs
+     */
+    public int getPathLength(Employee first, Employee second) {
+        return getPathLength(requireIndex(first), requireIndex(second));
+    }
+
+    public int getPathLength(int first, int second) {
+        int common = getLowestCommonManager(first, second);
+        if (common == NO_EMPLOYEE) {
+            return NO_EMPLOYEE;
+        }
+        return depth[first] + depth[second] - 2 * depth[common];
+    }
+
+    /**
+     * Lists the reporting chain from an employee up to the CEO, starting with the employee.
+     */
+    public List<Employee> getReportingChain(Employee employee) {
+        int index = requireIndex(employee);
+        List<Employee> chain = new ArrayList<>(depth[index] + 1);
+        chain.add(employees[index]);
+        while (depth[index] > 0) {
+            index = ancestors[0][index];
+            chain.add(employees[index]);
+        }
+        return chain;
+    }
+
+    private int requireIndex(Employee employee) {
+        int index = indexOf(employee.getId());
+        if (index == NO_EMPLOYEE || employees[index] != employee) {
+            throw new IllegalArgumentException("Employee is not part of this index: " + employee);
+        }
+        return index;
+    }
+}
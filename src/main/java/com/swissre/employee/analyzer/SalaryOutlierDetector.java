@@ -0,0 +1,135 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.SalaryOutlierResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects employees paid far above or below their peers.
+ *
+ * Peers are all employees on the same level (same number of managers) and all employees in the
+ * same subtree, where subtrees are rooted at the managers at the configured cut depth. Each peer
+ * group's salary distribution is summarized in a {@link QuantileSketch}, so memory per group is
+ * bounded no matter how many employees it has, and an employee is flagged when their salary is
+ * below the lower or above the upper percentile of a group. The number of groups is bounded as
+ * described in {@link PeerGroupSketches}: the deepest levels share one group, and beyond
+ * {@link PeerGroupSketches#MAX_SUBTREE_GROUPS} subtrees each one is compared with the subtrees
+ * that share its sketch.
+ */
+public class SalaryOutlierDetector {
+
+    private static final double DEFAULT_LOWER_PERCENTILE = 0.05;
+    private static final double DEFAULT_UPPER_PERCENTILE = 0.95;
+    private static final int DEFAULT_SUBTREE_DEPTH = 1;
+    private static final int DEFAULT_MIN_GROUP_SIZE = 20;
+
+    private final double lowerPercentile;
+    private final double upperPercentile;
+    private final int subtreeDepth;
+    private final int minGroupSize;
+    private final double relativeAccuracy;
+
+    public SalaryOutlierDetector() {
+        this(DEFAULT_LOWER_PERCENTILE, DEFAULT_UPPER_PERCENTILE, DEFAULT_SUBTREE_DEPTH,
+                DEFAULT_MIN_GROUP_SIZE, QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * @param lowerPercentile salaries below this quantile of a group are flagged, e.g. 0.05
+     * @param upperPercentile salaries above this quantile of a group are flagged, e.g. 0.95
+     * @param subtreeDepth level of the managers whose subtrees form peer groups; 1 means the CEO's direct reports
+     * @param minGroupSize groups with fewer employees are too small to compare against and are skipped
+     * @param relativeAccuracy relative accuracy of the percentile estimates
+     */
+    public SalaryOutlierDetector(double lowerPercentile, double upperPercentile, int subtreeDepth,
+                                 int minGroupSize, double relativeAccuracy) {
+        if (lowerPercentile < 0 || upperPercentile > 1 || lowerPercentile > upperPercentile) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid percentile range: %s to %s", lowerPercentile, upperPercentile));
+        }
+        this.lowerPercentile = lowerPercentile;
+        this.upperPercentile = upperPercentile;
+        this.subtreeDepth = subtreeDepth;
+        this.minGroupSize = minGroupSize;
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * Finds salary outliers by level and by subtree.
+     *
+     * @param employees list of all employees with hierarchy built
+     * @return one result per employee and peer group in which the employee is an outlier
+     */
+    public List<SalaryOutlierResult> detectOutliers(List<Employee> employees) {
+        ReportingPathIndex index = new ReportingPathIndex(employees);
+        return detectOutliers(employees, index, buildSketches(employees, index));
+    }
+
+    /**
+     * Collects the peer group sketches for a chunk of employees. Sketches of separate
+     * chunks can be combined with {@link PeerGroupSketches#merge(PeerGroupSketches)}.
+     *
+     * @param chunk any subset of the employees covered by the index
+     * @param index reporting path index of the whole organization
+     */
+    public PeerGroupSketches buildSketches(List<Employee> chunk, ReportingPathIndex index) {
+        PeerGroupSketches sketches = new PeerGroupSketches(relativeAccuracy);
+        for (Employee employee : chunk) {
+            int level = index.getDepth(employee);
+            sketches.add(level, subtreeId(employee, level, index), employee.getSalaryCents());
+        }
+        return sketches;
+    }
+
+    /**
+     * Flags the employees outside the percentile range of their peer groups.
+     *
+     * @param employees employees to check
+     * @param index reporting path index of the whole organization
+     * @param sketches peer group sketches of the whole organization
+     */
+    public List<SalaryOutlierResult> detectOutliers(List<Employee> employees, ReportingPathIndex index,
+                                                    PeerGroupSketches sketches) {
+        List<SalaryOutlierResult> results = new ArrayList<>();
+
+        for (Employee employee : employees) {
+            int level = index.getDepth(employee);
+            check(employee, SalaryOutlierResult.Scope.LEVEL, PeerGroupSketches.levelGroupName(level),
+                    sketches.getLevelSketch(level), results);
+
+            String subtreeId = subtreeId(employee, level, index);
+            if (subtreeId != null) {
+                check(employee, SalaryOutlierResult.Scope.SUBTREE, subtreeId,
+                        sketches.getSubtreeSketch(subtreeId), results);
+            }
+        }
+
+        return results;
+    }
+
+    private void check(Employee employee, SalaryOutlierResult.Scope scope, String group,
+                       QuantileSketch sketch, List<SalaryOutlierResult> results) {
+        if (sketch == null || sketch.getCount() < minGroupSize) {
+            return;
+        }
+        // Bucket edges rather than point estimates, so only salaries certainly outside the range are flagged
+        long lowerBound = sketch.getQuantileFloor(lowerPercentile);
+        long upperBound = sketch.getQuantileCeiling(upperPercentile);
+        long salary = employee.getSalaryCents();
+        if (salary < lowerBound || salary > upperBound) {
+            results.add(new SalaryOutlierResult(employee, scope, group, lowerBound, upperBound));
+        }
+    }
+
+    /**
+     * Gets the ID of the manager at the cut depth above an employee, or null above the cut.
+     */
+    private String subtreeId(Employee employee, int level, ReportingPathIndex index) {
+        if (level < subtreeDepth) {
+            return null;
+        }
+        return index.getKthManager(employee, level - subtreeDepth).getId();
+    }
+}
@@ -0,0 +1,151 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.DiffEntry;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.SnapshotDiff;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two organization snapshots by joining employees on their ID.
+ *
+ * Each snapshot is indexed once in a hash map, so a diff runs in O(n + m)
+ * regardless of the row order of the two exports.
+ */
+public class SnapshotDiffer {
+
+    private final OrganizationAnalyzer analyzer;
+
+    public SnapshotDiffer() {
+        this(new OrganizationAnalyzer());
+    }
+
+    public SnapshotDiffer(OrganizationAnalyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * Computes the differences between a previous and a current snapshot.
+     *
+     * @param previous employees of the older export, with hierarchy built
+     * @param current employees of the newer export, with hierarchy built
+     * @return the staffing changes and the violation changes between both snapshots
+     */
+    public SnapshotDiff diff(List<Employee> previous, List<Employee> current) {
+        SnapshotDiff diff = new SnapshotDiff();
+
+        diffEmployees(previous, current, diff);
+        diffSalaryViolations(analyzer.analyzeSalaryCompliance(previous),
+                analyzer.analyzeSalaryCompliance(current), diff);
+        diffReportingLineViolations(analyzer.analyzeReportingLines(previous),
+                analyzer.analyzeReportingLines(current), diff);
+
+        return diff;
+    }
+
+    /**
+     * Detects hires, leavers, salary changes and manager moves.
+     */
+    private void diffEmployees(List<Employee> previous, List<Employee> current, SnapshotDiff diff) {
+        Map<String, Employee> previousById = indexById(previous);
+        Map<String, Employee> currentById = indexById(current);
+
+        for (Employee after : current) {
+            Employee before = previousById.get(after.getId());
+            if (before == null) {
+                diff.getHires().add(after);
+                continue;
+            }
+            if (before.getSalaryCents() != after.getSalaryCents()) {
+                diff.getSalaryChanges().add(new DiffEntry<>(before, after));
+            }
+            if (!normalizeManagerId(before).equals(normalizeManagerId(after))) {
+                diff.getManagerChanges().add(new DiffEntry<>(before, after));
+            }
+        }
+
+        for (Employee before : previous) {
+            if (!currentById.containsKey(before.getId())) {
+                diff.getLeavers().add(before);
+            }
+        }
+    }
+
+    /**
+     * Classifies salary violations as new, resolved, worsened or reversed.
+     * A violation is worsened when its difference grows in the same direction,
+     * and reversed when it flips direction.
+     */
+    private void diffSalaryViolations(List<SalaryAnalysisResult> previous,
+                                      List<SalaryAnalysisResult> current,
+                                      SnapshotDiff diff) {
+        Map<String, SalaryAnalysisResult> previousById = new HashMap<>(capacityFor(previous.size()));
+        for (SalaryAnalysisResult result : previous) {
+            previousById.put(result.getManager().getId(), result);
+        }
+
+        for (SalaryAnalysisResult after : current) {
+            SalaryAnalysisResult before = previousById.remove(after.getManager().getId());
+            if (before == null) {
+                diff.getNewSalaryViolations().add(after);
+            } else if (before.isEarningTooLittle() != after.isEarningTooLittle()) {
+                diff.getReversedSalaryViolations().add(new DiffEntry<>(before, after));
+            } else if (after.getDifferenceCents() > before.getDifferenceCents()) {
+                diff.getWorsenedSalaryViolations().add(new DiffEntry<>(before, after));
+            }
+        }
+
+        for (SalaryAnalysisResult before : previous) {
+            if (previousById.containsKey(before.getManager().getId())) {
+                diff.getResolvedSalaryViolations().add(before);
+            }
+        }
+    }
+
+    /**
+     * Classifies reporting line violations as new, resolved or worsened.
+     */
+    private void diffReportingLineViolations(List<ReportingLineResult> previous,
+                                             List<ReportingLineResult> current,
+                                             SnapshotDiff diff) {
+        Map<String, ReportingLineResult> previousById = new HashMap<>(capacityFor(previous.size()));
+        for (ReportingLineResult result : previous) {
+            previousById.put(result.getEmployee().getId(), result);
+        }
+
+        for (ReportingLineResult after : current) {
+            ReportingLineResult before = previousById.remove(after.getEmployee().getId());
+            if (before == null) {
+                diff.getNewReportingLineViolations().add(after);
+            } else if (after.getExcessLevels() > before.getExcessLevels()) {
+                diff.getWorsenedReportingLineViolations().add(new DiffEntry<>(before, after));
+            }
+        }
+
+        for (ReportingLineResult before : previous) {
+            if (previousById.containsKey(before.getEmployee().getId())) {
+                diff.getResolvedReportingLineViolations().add(before);
+            }
+        }
+    }
+
+    private Map<String, Employee> indexById(List<Employee> employees) {
+        Map<String, Employee> index = new HashMap<>(capacityFor(employees.size()));
+        for (Employee employee : employees) {
+            index.put(employee.getId(), employee);
+        }
+        return index;
+    }
+
+    private String normalizeManagerId(Employee employee) {
+        return employee.isCEO() ? "" : employee.getManagerId().trim();
+    }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
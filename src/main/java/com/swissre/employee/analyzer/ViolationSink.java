@@ -0,0 +1,23 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+/**
+ * Receives violations as {@link OrganizationAnalyzer} finds them, so callers that only
+ * aggregate or stream results do not need to hold the full result lists.
+ */
+public interface ViolationSink {
+
+    /**
+     * Called for every manager earning outside the allowed band, in employee list order.
+     */
+    default void onSalaryViolation(SalaryAnalysisResult result) {
+    }
+
+    /**
+     * Called for every employee with too many managers, in employee list order.
+     */
+    default void onReportingLineViolation(ReportingLineResult result) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+/**
+ * Counts violations and totals their amounts without keeping the individual results.
+ */
+public class ViolationSummary implements ViolationSink {
+    private int underpaidCount;
+    private int overpaidCount;
+    private long underpaidTotalCents;
+    private long overpaidTotalCents;
+    private int reportingLineViolationCount;
+    private int maxManagerLevels;
+
+    @Override
+    public void onSalaryViolation(SalaryAnalysisResult result) {
+        if (result.isEarningTooLittle()) {
+            underpaidCount++;
+            underpaidTotalCents = addTotal(underpaidTotalCents, result.getDifferenceCents());
+        } else {
+            overpaidCount++;
+            overpaidTotalCents = addTotal(overpaidTotalCents, result.getDifferenceCents());
+        }
+    }
+
+    private static long addTotal(long total, long differenceCents) {
+        try {
+            return Math.addExact(total, differenceCents);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Total salary difference is too large to represent");
+        }
+    }
+
+    @Override
+    public void onReportingLineViolation(ReportingLineResult result) {
+        reportingLineViolationCount++;
+        maxManagerLevels = Math.max(maxManagerLevels, result.getManagerLevels());
+    }
+
+    public int getUnderpaidCount() {
+        return underpaidCount;
+    }
+
+    public int getOverpaidCount() {
+        return overpaidCount;
+    }
+
+    /**
+     * Gets the total raise needed to bring every underpaid manager into the band, in cents.
+     */
+    public long getUnderpaidTotalCents() {
+        return underpaidTotalCents;
+    }
+
+    /**
+     * Gets the total cut needed to bring every overpaid manager into the band, in cents.
+     */
+    public long getOverpaidTotalCents() {
+        return overpaidTotalCents;
+    }
+
+    public int getReportingLineViolationCount() {
+        return reportingLineViolationCount;
+    }
+
+    /**
+     * Gets the longest reporting line among the violations, or 0 if there are none.
+     */
+    public int getMaxManagerLevels() {
+        return maxManagerLevels;
+    }
+
+    public boolean hasViolations() {
+        return underpaidCount + overpaidCount + reportingLineViolationCount > 0;
+    }
+}
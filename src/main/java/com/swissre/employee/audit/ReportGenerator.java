@@ -1,7 +1,14 @@
 package com.swissre.employee.audit;
 
+import com.swissre.employee.analyzer.ViolationSummary;
+import com.swissre.employee.model.DiffEntry;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeMatch;
+import com.swissre.employee.model.Money;
 import com.swissre.employee.model.ReportingLineResult;
 import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.SalaryOutlierResult;
+import com.swissre.employee.model.SnapshotDiff;
 
 import java.util.List;
 
@@ -37,39 +44,49 @@ public class ReportGenerator {
         System.out.println("SALARY COMPLIANCE ANALYSIS");
         System.out.println("------------------------------------------");
 
-        List<SalaryAnalysisResult> underEarning = results.stream()
-                .filter(SalaryAnalysisResult::isEarningTooLittle)
-                .toList();
-
-        List<SalaryAnalysisResult> overEarning = results.stream()
-                .filter(SalaryAnalysisResult::isEarningTooMuch)
-                .toList();
+        // Plain loops keep stream and lambda bootstrapping off the CLI startup path; counting
+        // first and printing in two passes avoids copying the results into filtered lists
+        int underEarningCount = 0;
+        int overEarningCount = 0;
+        for (SalaryAnalysisResult result : results) {
+            if (result.isEarningTooLittle()) {
+                underEarningCount++;
+            } else if (result.isEarningTooMuch()) {
+                overEarningCount++;
+            }
+        }
 
-        if (underEarning.isEmpty() && overEarning.isEmpty()) {
+        if (underEarningCount == 0 && overEarningCount == 0) {
             System.out.println("✓ All managers' salaries are within acceptable range.");
         } else {
-            if (!underEarning.isEmpty()) {
+            if (underEarningCount > 0) {
                 System.out.println("Managers earning LESS than they should:");
                 System.out.println();
-                for (SalaryAnalysisResult result : underEarning) {
+                for (SalaryAnalysisResult result : results) {
+                    if (!result.isEarningTooLittle()) {
+                        continue;
+                    }
                     System.out.printf("  • %s%n", result.getManager().getFullName());
-                    System.out.printf("    Current salary: $%.2f%n", result.getManager().getSalary());
-                    System.out.printf("    Should earn at least: $%.2f%n",
-                            result.getManager().getSalary() + result.getDifference());
-                    System.out.printf("    Underpaid by: $%.2f%n", result.getDifference());
+                    System.out.printf("    Current salary: $%s%n", Money.format(result.getActualSalaryCents()));
+                    System.out.printf("    Should earn at least: $%s%n",
+                            Money.format(result.getActualSalaryCents() + result.getDifferenceCents()));
+                    System.out.printf("    Underpaid by: $%s%n", Money.format(result.getDifferenceCents()));
                     System.out.println();
                 }
             }
 
-            if (!overEarning.isEmpty()) {
+            if (overEarningCount > 0) {
                 System.out.println("Managers earning MORE than they should:");
                 System.out.println();
-                for (SalaryAnalysisResult result : overEarning) {
+                for (SalaryAnalysisResult result : results) {
+                    if (!result.isEarningTooMuch()) {
+                        continue;
+                    }
                     System.out.printf("  • %s%n", result.getManager().getFullName());
-                    System.out.printf("    Current salary: $%.2f%n", result.getManager().getSalary());
-                    System.out.printf("    Should earn at most: $%.2f%n",
-                            result.getManager().getSalary() - result.getDifference());
-                    System.out.printf("    Overpaid by: $%.2f%n", result.getDifference());
+                    System.out.printf("    Current salary: $%s%n", Money.format(result.getActualSalaryCents()));
+                    System.out.printf("    Should earn at most: $%s%n",
+                            Money.format(result.getActualSalaryCents() - result.getDifferenceCents()));
+                    System.out.printf("    Overpaid by: $%s%n", Money.format(result.getDifferenceCents()));
                     System.out.println();
                 }
             }
@@ -96,4 +113,211 @@ public class ReportGenerator {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Generates a short report with only the number of violations and their totals.
+     */
+    public void generateSummaryReport(int employeeCount, ViolationSummary summary) {
+        System.out.println("========================================");
+        System.out.println("ORGANIZATIONAL STRUCTURE SUMMARY");
+        System.out.println("========================================");
+        System.out.println();
+
+        System.out.printf("Employees analyzed: %d%n", employeeCount);
+        System.out.printf("Managers earning LESS than they should: %d (total shortfall $%s)%n",
+                summary.getUnderpaidCount(), Money.format(summary.getUnderpaidTotalCents()));
+        System.out.printf("Managers earning MORE than they should: %d (total excess $%s)%n",
+                summary.getOverpaidCount(), Money.format(summary.getOverpaidTotalCents()));
+        if (summary.getReportingLineViolationCount() == 0) {
+            System.out.println("Employees with reporting lines that are TOO LONG: 0");
+        } else {
+            System.out.printf("Employees with reporting lines that are TOO LONG: %d (longest: %d managers)%n",
+                    summary.getReportingLineViolationCount(), summary.getMaxManagerLevels());
+        }
+
+        System.out.println();
+        System.out.println("========================================");
+        System.out.println("END OF REPORT");
+        System.out.println("========================================");
+    }
+
+    /**
+     * Generates a report of the changes between two organization snapshots.
+     */
+    public void generateDiffReport(SnapshotDiff diff) {
+        System.out.println("========================================");
+        System.out.println("ORGANIZATIONAL SNAPSHOT DIFF REPORT");
+        System.out.println("========================================");
+        System.out.println();
+
+        generateStaffingChangesReport(diff);
+        System.out.println();
+        generateViolationChangesReport(diff);
+
+        System.out.println();
+        System.out.println("========================================");
+        System.out.println("END OF REPORT");
+        System.out.println("========================================");
+    }
+
+    /**
+     * Generates the hires, leavers, salary changes and manager moves section.
+     */
+    private void generateStaffingChangesReport(SnapshotDiff diff) {
+        System.out.println("STAFFING CHANGES");
+        System.out.println("------------------------------------------");
+        System.out.printf("Hires: %d, Leavers: %d, Salary changes: %d, Manager moves: %d%n",
+                diff.getHires().size(), diff.getLeavers().size(),
+                diff.getSalaryChanges().size(), diff.getManagerChanges().size());
+
+        for (Employee employee : diff.getHires()) {
+            System.out.printf("  + Hired: %s%n", employee);
+        }
+        for (Employee employee : diff.getLeavers()) {
+            System.out.printf("  - Left: %s%n", employee);
+        }
+        for (DiffEntry<Employee> change : diff.getSalaryChanges()) {
+            System.out.printf("  • Salary: %s $%s -> $%s%n", change.getAfter(),
+                    Money.format(change.getBefore().getSalaryCents()),
+                    Money.format(change.getAfter().getSalaryCents()));
+        }
+        for (DiffEntry<Employee> change : diff.getManagerChanges()) {
+            System.out.printf("  • Manager: %s %s -> %s%n", change.getAfter(),
+                    describeManagerId(change.getBefore()), describeManagerId(change.getAfter()));
+        }
+    }
+
+    /**
+     * Generates the new, resolved, worsened and reversed violations section.
+     */
+    private void generateViolationChangesReport(SnapshotDiff diff) {
+        System.out.println("VIOLATION CHANGES");
+        System.out.println("------------------------------------------");
+
+        if (diff.getNewSalaryViolations().isEmpty()
+                && diff.getResolvedSalaryViolations().isEmpty()
+                && diff.getWorsenedSalaryViolations().isEmpty()
+                && diff.getReversedSalaryViolations().isEmpty()
+                && diff.getNewReportingLineViolations().isEmpty()
+                && diff.getResolvedReportingLineViolations().isEmpty()
+                && diff.getWorsenedReportingLineViolations().isEmpty()) {
+            System.out.println("✓ No changes in salary or reporting line violations.");
+            return;
+        }
+
+        for (SalaryAnalysisResult result : diff.getNewSalaryViolations()) {
+            System.out.printf("  NEW salary violation: %s %s by $%s%n",
+                    result.getManager().getFullName(), describeDirection(result),
+                    Money.format(result.getDifferenceCents()));
+        }
+        for (DiffEntry<SalaryAnalysisResult> change : diff.getWorsenedSalaryViolations()) {
+            System.out.printf("  WORSENED salary violation: %s %s by $%s (was %s by $%s)%n",
+                    change.getAfter().getManager().getFullName(),
+                    describeDirection(change.getAfter()), Money.format(change.getAfter().getDifferenceCents()),
+                    describeDirection(change.getBefore()), Money.format(change.getBefore().getDifferenceCents()));
+        }
+        for (DiffEntry<SalaryAnalysisResult> change : diff.getReversedSalaryViolations()) {
+            System.out.printf("  REVERSED salary violation: %s %s by $%s (was %s by $%s)%n",
+                    change.getAfter().getManager().getFullName(),
+                    describeDirection(change.getAfter()), Money.format(change.getAfter().getDifferenceCents()),
+                    describeDirection(change.getBefore()), Money.format(change.getBefore().getDifferenceCents()));
+        }
+        for (SalaryAnalysisResult result : diff.getResolvedSalaryViolations()) {
+            System.out.printf("  RESOLVED salary violation: %s%n", result.getManager().getFullName());
+        }
+        for (ReportingLineResult result : diff.getNewReportingLineViolations()) {
+            System.out.printf("  NEW reporting line violation: %s has %d managers%n",
+                    result.getEmployee().getFullName(), result.getManagerLevels());
+        }
+        for (DiffEntry<ReportingLineResult> change : diff.getWorsenedReportingLineViolations()) {
+            System.out.printf("  WORSENED reporting line violation: %s has %d managers (was %d)%n",
+                    change.getAfter().getEmployee().getFullName(),
+                    change.getAfter().getManagerLevels(), change.getBefore().getManagerLevels());
+        }
+        for (ReportingLineResult result : diff.getResolvedReportingLineViolations()) {
+            System.out.printf("  RESOLVED reporting line violation: %s%n", result.getEmployee().getFullName());
+        }
+    }
+
+    private String describeDirection(SalaryAnalysisResult result) {
+        return result.isEarningTooLittle() ? "underpaid" : "overpaid";
+    }
+
+    private String describeManagerId(Employee employee) {
+        return employee.isCEO() ? "(none)" : employee.getManagerId();
+    }
+
+    /**
+     * Generates a report of employees paid outside the percentile range of their peers.
+     */
+    public void generateOutlierReport(List<SalaryOutlierResult> results) {
+        System.out.println("========================================");
+        System.out.println("SALARY OUTLIER REPORT");
+        System.out.println("========================================");
+        System.out.println();
+
+        if (results.isEmpty()) {
+            System.out.println("✓ No salary outliers found within levels or subtrees.");
+            System.out.println();
+        } else {
+            for (SalaryOutlierResult result : results) {
+                String group = result.getScope() == SalaryOutlierResult.Scope.LEVEL
+                        ? "level " + result.getGroup()
+                        : "subtree of employee " + result.getGroup();
+                System.out.printf("  • %s%n", result.getEmployee().getFullName());
+                System.out.printf("    Salary: $%s, %s range for %s: $%s - $%s%n",
+                        Money.format(result.getEmployee().getSalaryCents()),
+                        result.isBelowRange() ? "below" : "above", group,
+                        Money.format(result.getLowerBoundCents()), Money.format(result.getUpperBoundCents()));
+                System.out.println();
+            }
+        }
+
+        System.out.println("========================================");
+        System.out.println("END OF REPORT");
+        System.out.println("========================================");
+    }
+
+    /**
+     * Generates a report of search matches with their manager chains and compliance issues.
+     */
+    public void generateSearchReport(String query, List<EmployeeMatch> matches) {
+        System.out.println("========================================");
+        System.out.println("EMPLOYEE SEARCH: " + query);
+        System.out.println("========================================");
+        System.out.println();
+
+        if (matches.isEmpty()) {
+            System.out.println("No employees found.");
+            System.out.println();
+        } else {
+            for (EmployeeMatch match : matches) {
+                Employee employee = match.getEmployee();
+                System.out.printf("  • %s (ID: %s), salary $%s%n",
+                        employee.getFullName(), employee.getId(), Money.format(employee.getSalaryCents()));
+
+                StringBuilder chain = new StringBuilder();
+                for (Employee manager : match.getManagerChain()) {
+                    chain.append(chain.length() == 0 ? "" : " → ").append(manager.getFullName());
+                }
+                System.out.println("    Reports to: " + (chain.length() == 0 ? "nobody (CEO)" : chain));
+
+                SalaryAnalysisResult salaryIssue = match.getSalaryIssue();
+                if (salaryIssue != null) {
+                    System.out.printf("    ⚠ Earns $%s too %s%n", Money.format(salaryIssue.getDifferenceCents()),
+                            salaryIssue.isEarningTooLittle() ? "little" : "much");
+                }
+                ReportingLineResult reportingLineIssue = match.getReportingLineIssue();
+                if (reportingLineIssue != null) {
+                    System.out.printf("    ⚠ Reporting line too long by %d level(s)%n",
+                            reportingLineIssue.getExcessLevels());
+                }
+                System.out.println();
+            }
+        }
+
+        System.out.println("========================================");
+        System.out.println("END OF REPORT");
+        System.out.println("========================================");
+    }
+}
@@ -0,0 +1,22 @@
+package com.swissre.employee.model;
+
+/**
+ * Pairs the state of an item in the previous snapshot with its state in the current one.
+ */
+public class DiffEntry<T> {
+    private final T before;
+    private final T after;
+
+    public DiffEntry(T before, T after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public T getBefore() {
+        return before;
+    }
+
+    public T getAfter() {
+        return after;
+    }
+}
@@ -5,26 +5,43 @@ import java.util.List;
 
 /**
  * Represents an employee in the organizational structure.
+ *
+ * The reporting relationships can be changed until the employee is frozen as part of an
+ * {@link OrganizationSnapshot}; after that the employee is immutable and safe to share between threads.
  */
 public class Employee {
     private final String id;
     private final String firstName;
     private final String lastName;
-    private final double salary;
+    private final long salaryCents;
     private final String managerId;
+    private String fullName;
 
     private Employee manager;
     private List<Employee> directReports;
+    private boolean frozen;
 
     public Employee(String id, String firstName, String lastName, double salary, String managerId) {
+        this(id, firstName, lastName, Money.toCents(salary), managerId);
+    }
+
+    private Employee(String id, String firstName, String lastName, long salaryCents, String managerId) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
-        this.salary = salary;
+        this.salaryCents = salaryCents;
         this.managerId = managerId;
         this.directReports = new ArrayList<>();
     }
 
+    /**
+     * Creates an employee whose salary is given as an exact number of cents.
+     */
+    public static Employee withSalaryCents(String id, String firstName, String lastName,
+                                           long salaryCents, String managerId) {
+        return new Employee(id, firstName, lastName, salaryCents, managerId);
+    }
+
     public String getId() {
         return id;
     }
@@ -38,7 +55,11 @@ public class Employee {
     }
 
     public double getSalary() {
-        return salary;
+        return Money.toDouble(salaryCents);
+    }
+
+    public long getSalaryCents() {
+        return salaryCents;
     }
 
     public String getManagerId() {
@@ -50,6 +71,7 @@ public class Employee {
     }
 
     public void setManager(Employee manager) {
+        checkNotFrozen();
         this.manager = manager;
     }
 
@@ -58,11 +80,39 @@ public class Employee {
     }
 
     public void addDirectReport(Employee employee) {
+        checkNotFrozen();
         this.directReports.add(employee);
     }
 
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Makes the reporting relationships immutable, replacing the direct reports
+     * with a compact unmodifiable list.
+     */
+    void freeze() {
+        if (!frozen) {
+            directReports = List.copyOf(directReports);
+            frozen = true;
+        }
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Employee " + id + " belongs to a frozen organization snapshot");
+        }
+    }
+
     public String getFullName() {
-        return firstName + " " + lastName;
+        // Built on first use; a racing thread at worst builds an equal string
+        String name = fullName;
+        if (name == null) {
+            name = firstName + " " + lastName;
+            fullName = name;
+        }
+        return name;
     }
 
     public boolean isManager() {
@@ -80,10 +130,25 @@ public class Employee {
         if (directReports.isEmpty()) {
             return 0.0;
         }
-        return directReports.stream()
-                .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+        return Money.toDouble(getDirectReportSalaryTotalCents()) / directReports.size();
+    }
+
+    /**
+     * Sums the salaries of direct subordinates exactly, in cents.
+     *
+     * @throws IllegalArgumentException if the total does not fit in a {@code long}
+     */
+    public long getDirectReportSalaryTotalCents() {
+        long total = 0;
+        for (Employee directReport : directReports) {
+            try {
+                total = Math.addExact(total, directReport.getSalaryCents());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException(String.format(
+                        "Total salary of the direct reports of employee %s is too large to represent", id));
+            }
+        }
+        return total;
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.swissre.employee.model;
+
+import java.util.List;
+
+/**
+ * Represents an employee found by a search, with their managers and any compliance issues.
+ */
+public class EmployeeMatch {
+    private final Employee employee;
+    private final List<Employee> managerChain;
+    private final SalaryAnalysisResult salaryIssue;
+    private final ReportingLineResult reportingLineIssue;
+
+    public EmployeeMatch(Employee employee, List<Employee> managerChain,
+                         SalaryAnalysisResult salaryIssue, ReportingLineResult reportingLineIssue) {
+        this.employee = employee;
+        this.managerChain = managerChain;
+        this.salaryIssue = salaryIssue;
+        this.reportingLineIssue = reportingLineIssue;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    /**
+     * Gets the managers above the employee, starting with the direct manager and ending with the CEO.
+     */
+    public List<Employee> getManagerChain() {
+        return managerChain;
+    }
+
+    /**
+     * Gets the salary violation of the employee as a manager, or null if there is none.
+     */
+    public SalaryAnalysisResult getSalaryIssue() {
+        return salaryIssue;
+    }
+
+    /**
+     * Gets the reporting line violation of the employee, or null if there is none.
+     */
+    public ReportingLineResult getReportingLineIssue() {
+        return reportingLineIssue;
+    }
+
+    public boolean hasIssue() {
+        return salaryIssue != null || reportingLineIssue != null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.swissre.employee.model;
+
+/**
+ * Fixed-point helpers for salary amounts stored as a {@code long} number of cents.
+ */
+public final class Money {
+
+    private static final int CENT_DIGITS = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Parses a decimal amount such as {@code 60000}, {@code 60000.5} or {@code 60000.50} into cents.
+     * The value must be exactly representable in cents; trailing zero digits beyond
+     * the second decimal place are accepted.
+     *
+     * @throws NumberFormatException if the text is not a plain decimal number or overflows
+     */
+    public static long parseCents(String text) {
+        int length = text.length();
+        int index = 0;
+        boolean negative = false;
+
+        if (index < length && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+
+        try {
+            return parseDigits(text, index, negative);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    private static long parseDigits(String text, int index, boolean negative) {
+        int length = text.length();
+        long units = 0;
+        int integerDigits = 0;
+        while (index < length && isDigit(text.charAt(index))) {
+            units = Math.addExact(Math.multiplyExact(units, 10), text.charAt(index) - '0');
+            integerDigits++;
+            index++;
+        }
+
+        long cents = 0;
+        int fractionDigits = 0;
+        if (index < length && text.charAt(index) == '.') {
+            index++;
+            while (index < length && isDigit(text.charAt(index))) {
+                int digit = text.charAt(index) - '0';
+                if (fractionDigits < CENT_DIGITS) {
+                    cents = cents * 10 + digit;
+                } else if (digit != 0) {
+                    throw new NumberFormatException("Amount has more than two decimal places: " + text);
+                }
+                fractionDigits++;
+                index++;
+            }
+        }
+
+        if (index != length || integerDigits + fractionDigits == 0) {
+            throw new NumberFormatException("Invalid amount: " + text);
+        }
+
+        for (int i = fractionDigits; i < CENT_DIGITS; i++) {
+            cents *= 10;
+        }
+
+        long total = Math.addExact(Math.multiplyExact(units, 100), cents);
+        return negative ? -total : total;
+    }
+
+    /**
+     * Converts a whole-dollar or fractional amount to the nearest cent.
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Converts cents to a dollar amount, for display and legacy callers only.
+     */
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Formats cents as a plain decimal amount with two decimal places, e.g. {@code 60000.00}.
+     */
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(24);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long absolute = Math.abs(cents);
+        sb.append(absolute / 100).append('.');
+        long fraction = absolute % 100;
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    /**
+     * Compares {@code a * b} with {@code c * d} exactly for non-negative operands,
+     * using the full 128-bit products so the comparison can never overflow.
+     *
+     * @return a negative number, zero or a positive number as {@code a * b} is
+     *         less than, equal to or greater than {@code c * d}
+     */
+    public static int compareProducts(long a, long b, long c, long d) {
+        int high = Long.compare(Math.multiplyHigh(a, b), Math.multiplyHigh(c, d));
+        if (high != 0) {
+            return high;
+        }
+        return Long.compareUnsigned(a * b, c * d);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
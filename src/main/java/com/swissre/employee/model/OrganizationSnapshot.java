@@ -0,0 +1,80 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable version of an organization.
+ *
+ * Creating a snapshot freezes all of its employees, so any number of threads can analyze it
+ * without locking or defensive copies. To change the organization, take a mutable copy with
+ * {@link #copyEmployees()} and publish a new snapshot through an {@link OrganizationStore}.
+ */
+public final class OrganizationSnapshot {
+    private final List<Employee> employees;
+    private final Map<String, Employee> employeesById;
+    private final long version;
+
+    /**
+     * Freezes the given employees, whose hierarchy must already be built, into a snapshot.
+     *
+     * @param employees all employees of the organization
+     * @param version version number of this snapshot
+     */
+    public OrganizationSnapshot(List<Employee> employees, long version) {
+        Map<String, Employee> byId = new HashMap<>((int) (employees.size() / 0.75f) + 1);
+        for (Employee employee : employees) {
+            employee.freeze();
+            byId.put(employee.getId(), employee);
+        }
+        this.employees = List.copyOf(employees);
+        this.employeesById = byId;
+        this.version = version;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Gets an employee by ID, or null if there is no such employee.
+     */
+    public Employee getEmployee(String id) {
+        return employeesById.get(id);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Creates a mutable deep copy of the employees with the same hierarchy,
+     * for preparing the next version of the organization.
+     */
+    public List<Employee> copyEmployees() {
+        List<Employee> copies = new ArrayList<>(employees.size());
+        Map<Employee, Employee> copyOf = new HashMap<>((int) (employees.size() / 0.75f) + 1);
+        for (Employee employee : employees) {
+            Employee copy = Employee.withSalaryCents(employee.getId(), employee.getFirstName(),
+                    employee.getLastName(), employee.getSalaryCents(), employee.getManagerId());
+            copies.add(copy);
+            copyOf.put(employee, copy);
+        }
+
+        for (Employee employee : employees) {
+            Employee copy = copyOf.get(employee);
+            for (Employee directReport : employee.getDirectReports()) {
+                Employee reportCopy = copyOf.get(directReport);
+                copy.addDirectReport(reportCopy);
+                reportCopy.setManager(copy);
+            }
+        }
+        return copies;
+    }
+}
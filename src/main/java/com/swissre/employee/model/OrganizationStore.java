@@ -0,0 +1,61 @@
+package com.swissre.employee.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link OrganizationSnapshot} and publishes new versions by copy-on-write.
+ *
+ * Readers call {@link #current()} and work on that snapshot for as long as they need, without
+ * locking. Writers prepare the next version on a private copy and swap it in atomically.
+ */
+public class OrganizationStore {
+    private final AtomicReference<OrganizationSnapshot> current;
+
+    public OrganizationStore(OrganizationSnapshot initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public OrganizationStore(List<Employee> employees) {
+        this(new OrganizationSnapshot(employees, 1));
+    }
+
+    public OrganizationSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Replaces the organization with a newly parsed one.
+     *
+     * @param employees employees with hierarchy built; they are frozen by this call
+     * @return the published snapshot
+     */
+    public OrganizationSnapshot publish(List<Employee> employees) {
+        while (true) {
+            OrganizationSnapshot base = current.get();
+            OrganizationSnapshot next = new OrganizationSnapshot(employees, base.getVersion() + 1);
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Applies a change to a mutable copy of the current organization and publishes the result.
+     * If another writer publishes first, the change is re-applied to the newer version.
+     *
+     * @param change receives a mutable copy of the employees and returns the employees of the next version
+     * @return the published snapshot
+     */
+    public OrganizationSnapshot update(UnaryOperator<List<Employee>> change) {
+        while (true) {
+            OrganizationSnapshot base = current.get();
+            List<Employee> employees = change.apply(base.copyEmployees());
+            OrganizationSnapshot next = new OrganizationSnapshot(employees, base.getVersion() + 1);
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -1,40 +1,126 @@
 package com.swissre.employee.model;
 
+import java.math.BigInteger;
+
 /**
  * Represents the result of salary analysis for managers.
+ *
+ * All amounts are exact cents. The band check compares
+ * {@code salary * (count * 100)} with {@code subordinateTotal * percent} as 128-bit
+ * products instead of dividing, so borderline managers are classified exactly and
+ * any salary that fits in a {@code long} can be checked.
  */
 public class SalaryAnalysisResult {
     private final Employee manager;
-    private final double actualSalary;
-    private final double averageSubordinateSalary;
-    private final double minimumExpectedSalary;
-    private final double maximumExpectedSalary;
-    private final double difference;
+    private final long actualSalaryCents;
+    private final long subordinateSalaryTotalCents;
+    private final int subordinateCount;
+    private final long differenceCents;
     private final boolean earningTooLittle;
     private final boolean earningTooMuch;
 
+    /**
+     * @param manager the manager being analyzed
+     * @param actualSalaryCents the manager's salary in cents
+     * @param subordinateSalaryTotalCents sum of the direct reports' salaries in cents
+     * @param subordinateCount number of direct reports, must be positive
+     * @param minimumPercent minimum salary as a percentage of the subordinates' average, e.g. 120
+     * @param maximumPercent maximum salary as a percentage of the subordinates' average, e.g. 150
+     */
+    public SalaryAnalysisResult(Employee manager, long actualSalaryCents,
+                                long subordinateSalaryTotalCents, int subordinateCount,
+                                int minimumPercent, int maximumPercent) {
+        this.manager = manager;
+        this.actualSalaryCents = actualSalaryCents;
+        this.subordinateSalaryTotalCents = subordinateSalaryTotalCents;
+        this.subordinateCount = subordinateCount;
+
+        long scaledCount = 100L * subordinateCount;
+
+        if (Money.compareProducts(actualSalaryCents, scaledCount,
+                subordinateSalaryTotalCents, minimumPercent) < 0) {
+            this.earningTooLittle = true;
+            this.earningTooMuch = false;
+            this.differenceCents = gapCents(subordinateSalaryTotalCents, minimumPercent,
+                    actualSalaryCents, scaledCount);
+        } else if (Money.compareProducts(actualSalaryCents, scaledCount,
+                subordinateSalaryTotalCents, maximumPercent) > 0) {
+            this.earningTooLittle = false;
+            this.earningTooMuch = true;
+            this.differenceCents = gapCents(actualSalaryCents, scaledCount,
+                    subordinateSalaryTotalCents, maximumPercent);
+        } else {
+            this.earningTooLittle = false;
+            this.earningTooMuch = false;
+            this.differenceCents = 0;
+        }
+    }
+
+    /**
+     * Builds a result from dollar amounts with an already computed band, for existing callers.
+     * Amounts are rounded to the nearest cent and the average counts as a single subordinate.
+     */
     public SalaryAnalysisResult(Employee manager, double actualSalary,
                                 double averageSubordinateSalary,
                                 double minimumExpectedSalary,
                                 double maximumExpectedSalary) {
         this.manager = manager;
-        this.actualSalary = actualSalary;
-        this.averageSubordinateSalary = averageSubordinateSalary;
-        this.minimumExpectedSalary = minimumExpectedSalary;
-        this.maximumExpectedSalary = maximumExpectedSalary;
+        this.actualSalaryCents = Money.toCents(actualSalary);
+        this.subordinateSalaryTotalCents = Money.toCents(averageSubordinateSalary);
+        this.subordinateCount = 1;
 
-        if (actualSalary < minimumExpectedSalary) {
+        long minimumCents = Money.toCents(minimumExpectedSalary);
+        long maximumCents = Money.toCents(maximumExpectedSalary);
+        if (actualSalaryCents < minimumCents) {
             this.earningTooLittle = true;
             this.earningTooMuch = false;
-            this.difference = minimumExpectedSalary - actualSalary;
-        } else if (actualSalary > maximumExpectedSalary) {
+            this.differenceCents = minimumCents - actualSalaryCents;
+        } else if (actualSalaryCents > maximumCents) {
             this.earningTooLittle = false;
             this.earningTooMuch = true;
-            this.difference = actualSalary - maximumExpectedSalary;
+            this.differenceCents = actualSalaryCents - maximumCents;
         } else {
             this.earningTooLittle = false;
             this.earningTooMuch = false;
-            this.difference = 0.0;
+            this.differenceCents = 0;
+        }
+    }
+
+    /**
+     * Checks the band on primitives only, so callers can skip building a result for compliant managers.
+     *
+     * @return true if the salary is between the minimum and maximum percentage of the subordinates' average
+     */
+    public static boolean isWithinBand(long actualSalaryCents, long subordinateSalaryTotalCents,
+                                       int subordinateCount, int minimumPercent, int maximumPercent) {
+        long scaledCount = 100L * subordinateCount;
+        return Money.compareProducts(actualSalaryCents, scaledCount, subordinateSalaryTotalCents, minimumPercent) >= 0
+                && Money.compareProducts(actualSalaryCents, scaledCount, subordinateSalaryTotalCents, maximumPercent) <= 0;
+    }
+
+    /**
+     * Computes {@code ceil((a * b - c * d) / (100 * count))} for a positive gap.
+     * Rounding up means that moving the salary by the difference always reaches the band.
+     *
+     * @throws IllegalArgumentException if the difference does not fit in a {@code long}
+     */
+    private long gapCents(long a, long b, long c, long d) {
+        long divisor = 100L * subordinateCount;
+        try {
+            long numerator = Math.subtractExact(Math.multiplyExact(a, b), Math.multiplyExact(c, d));
+            return Math.floorDiv(Math.addExact(numerator, divisor - 1), divisor);
+        } catch (ArithmeticException e) {
+            // Only reachable for extreme totals; fall back to arbitrary precision
+            BigInteger numerator = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                    .subtract(BigInteger.valueOf(c).multiply(BigInteger.valueOf(d)));
+            BigInteger[] quotient = numerator.divideAndRemainder(BigInteger.valueOf(divisor));
+            BigInteger gap = quotient[0].add(BigInteger.valueOf(quotient[1].signum() > 0 ? 1 : 0));
+            if (gap.bitLength() >= Long.SIZE) {
+                throw new IllegalArgumentException(String.format(
+                        "Salary difference of manager %s is too large to represent: %s cents",
+                        manager == null ? "?" : manager.getId(), gap));
+            }
+            return gap.longValue();
         }
     }
 
@@ -42,8 +128,28 @@ public class SalaryAnalysisResult {
         return manager;
     }
 
+    public long getActualSalaryCents() {
+        return actualSalaryCents;
+    }
+
+    public long getSubordinateSalaryTotalCents() {
+        return subordinateSalaryTotalCents;
+    }
+
+    public int getSubordinateCount() {
+        return subordinateCount;
+    }
+
+    public double getAverageSubordinateSalary() {
+        return Money.toDouble(subordinateSalaryTotalCents) / subordinateCount;
+    }
+
+    public long getDifferenceCents() {
+        return differenceCents;
+    }
+
     public double getDifference() {
-        return difference;
+        return Money.toDouble(differenceCents);
     }
 
     public boolean isEarningTooLittle() {
@@ -58,4 +164,3 @@ public class SalaryAnalysisResult {
         return earningTooLittle || earningTooMuch;
     }
 }
-
@@ -0,0 +1,63 @@
+package com.swissre.employee.model;
+
+/**
+ * Represents an employee whose salary lies outside the configured percentiles of a peer group.
+ */
+public class SalaryOutlierResult {
+
+    /**
+     * The peer group an employee is compared against.
+     */
+    public enum Scope {
+        /** All employees with the same number of managers. */
+        LEVEL,
+        /** All employees below the same manager at the subtree cut depth. */
+        SUBTREE
+    }
+
+    private final Employee employee;
+    private final Scope scope;
+    private final String group;
+    private final long lowerBoundCents;
+    private final long upperBoundCents;
+
+    public SalaryOutlierResult(Employee employee, Scope scope, String group,
+                               long lowerBoundCents, long upperBoundCents) {
+        this.employee = employee;
+        this.scope = scope;
+        this.group = group;
+        this.lowerBoundCents = lowerBoundCents;
+        this.upperBoundCents = upperBoundCents;
+    }
+
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Gets the peer group key: the level number or the ID of the subtree's top manager.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    public long getLowerBoundCents() {
+        return lowerBoundCents;
+    }
+
+    public long getUpperBoundCents() {
+        return upperBoundCents;
+    }
+
+    public boolean isBelowRange() {
+        return employee.getSalaryCents() < lowerBoundCents;
+    }
+
+    public boolean isAboveRange() {
+        return employee.getSalaryCents() > upperBoundCents;
+    }
+}
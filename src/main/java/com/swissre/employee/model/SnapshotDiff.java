@@ -0,0 +1,74 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the differences between two organization snapshots.
+ */
+public class SnapshotDiff {
+    private final List<Employee> hires = new ArrayList<>();
+    private final List<Employee> leavers = new ArrayList<>();
+    private final List<DiffEntry<Employee>> salaryChanges = new ArrayList<>();
+    private final List<DiffEntry<Employee>> managerChanges = new ArrayList<>();
+
+    private final List<SalaryAnalysisResult> newSalaryViolations = new ArrayList<>();
+    private final List<SalaryAnalysisResult> resolvedSalaryViolations = new ArrayList<>();
+    private final List<DiffEntry<SalaryAnalysisResult>> worsenedSalaryViolations = new ArrayList<>();
+    private final List<DiffEntry<SalaryAnalysisResult>> reversedSalaryViolations = new ArrayList<>();
+
+    private final List<ReportingLineResult> newReportingLineViolations = new ArrayList<>();
+    private final List<ReportingLineResult> resolvedReportingLineViolations = new ArrayList<>();
+    private final List<DiffEntry<ReportingLineResult>> worsenedReportingLineViolations = new ArrayList<>();
+
+    public List<Employee> getHires() {
+        return hires;
+    }
+
+    public List<Employee> getLeavers() {
+        return leavers;
+    }
+
+    public List<DiffEntry<Employee>> getSalaryChanges() {
+        return salaryChanges;
+    }
+
+    public List<DiffEntry<Employee>> getManagerChanges() {
+        return managerChanges;
+    }
+
+    public List<SalaryAnalysisResult> getNewSalaryViolations() {
+        return newSalaryViolations;
+    }
+
+    public List<SalaryAnalysisResult> getResolvedSalaryViolations() {
+        return resolvedSalaryViolations;
+    }
+
+    /**
+     * Gets the salary violations in the same direction as before with a larger difference.
+     */
+    public List<DiffEntry<SalaryAnalysisResult>> getWorsenedSalaryViolations() {
+        return worsenedSalaryViolations;
+    }
+
+    /**
+     * Gets the salary violations that changed direction, e.g. from overpaid to underpaid,
+     * whether the difference grew or shrank.
+     */
+    public List<DiffEntry<SalaryAnalysisResult>> getReversedSalaryViolations() {
+        return reversedSalaryViolations;
+    }
+
+    public List<ReportingLineResult> getNewReportingLineViolations() {
+        return newReportingLineViolations;
+    }
+
+    public List<ReportingLineResult> getResolvedReportingLineViolations() {
+        return resolvedReportingLineViolations;
+    }
+
+    public List<DiffEntry<ReportingLineResult>> getWorsenedReportingLineViolations() {
+        return worsenedReportingLineViolations;
+    }
+}
@@ -1,14 +1,23 @@
 package com.swissre.employee.parser;
 
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.Money;
+import com.swissre.employee.model.OrganizationSnapshot;
+import com.swissre.employee.progress.ProgressPhase;
+import com.swissre.employee.progress.ProgressTracker;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 /**
  * Parses employee data from CSV files and builds the organizational structure.
@@ -16,6 +25,7 @@ import java.util.Map;
 public class EmployeeDataParser {
 
     private static final String COMMA_DELIMITER = ",";
+    private static final String GZIP_EXTENSION = ".gz";
     private static final int ID_INDEX = 0;
     private static final int FIRST_NAME_INDEX = 1;
     private static final int LAST_NAME_INDEX = 2;
@@ -24,45 +34,169 @@ public class EmployeeDataParser {
 
     /**
      * Reads employee data from a CSV file and builds the organizational hierarchy.
+     * Files ending in {@code .gz} are decompressed on the fly on a separate thread.
      *
-     * @param filePath path to the CSV file
+     * @param filePath path to the CSV file, optionally gzip-compressed
      * @return list of all employees with relationships established
      * @throws IOException if file cannot be read
      * @throws IllegalArgumentException if file format is invalid
      */
     public List<Employee> parseEmployeeData(String filePath) throws IOException {
+        return parseEmployeeData(filePath, ProgressTracker.NONE);
+    }
+
+    /**
+     * Reads employee data from a CSV file and builds the organizational hierarchy,
+     * reporting the bytes consumed and the employees linked to the tracker.
+     *
+     * @param filePath path to the CSV file, optionally gzip-compressed
+     * @param tracker receives progress updates and may cancel the run
+     * @return list of all employees with relationships established
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if file format is invalid
+     * @throws CancellationException if the tracker was cancelled before the hierarchy was complete
+     */
+    public List<Employee> parseEmployeeData(String filePath, ProgressTracker tracker) throws IOException {
+        long totalBytes = new File(filePath).length();
+        CountingInputStream in = new CountingInputStream(new FileInputStream(filePath));
+
+        try (BufferedReader br = openReader(filePath, in)) {
+            return parseEmployeeData(br, in, totalBytes, tracker);
+        }
+    }
+
+    /**
+     * Reads employee data from a CSV file into a frozen, immutable organization snapshot
+     * that can be shared between analysis threads.
+     *
+     * @param filePath path to the CSV file, optionally gzip-compressed
+     * @return the parsed organization as version 1
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if file format is invalid
+     */
+    public OrganizationSnapshot parseSnapshot(String filePath) throws IOException {
+        return new OrganizationSnapshot(parseEmployeeData(filePath), 1);
+    }
+
+    /**
+     * Opens a reader for a plain or gzip-compressed CSV file.
+     */
+    private BufferedReader openReader(String filePath, InputStream fileStream) {
+        InputStream in = filePath.endsWith(GZIP_EXTENSION) ? new PipelinedGzipInputStream(fileStream) : fileStream;
+        return new BufferedReader(new InputStreamReader(in, Charset.defaultCharset()));
+    }
+
+    /**
+     * Reads employee data, starting with the header line, and builds the organizational hierarchy.
+     * The reader is not closed.
+     *
+     * @param reader reader positioned at the header line
+     * @return list of all employees with relationships established
+     * @throws IOException if the data cannot be read
+     * @throws IllegalArgumentException if the data format is invalid
+     */
+    public List<Employee> parseEmployeeData(BufferedReader reader) throws IOException {
+        return parseEmployeeData(reader, null, -1, ProgressTracker.NONE);
+    }
+
+    private List<Employee> parseEmployeeData(BufferedReader reader, CountingInputStream counter,
+                                             long totalBytes, ProgressTracker tracker) throws IOException {
         List<Employee> employees = new ArrayList<>();
         Map<String, Employee> employeeMap = new HashMap<>();
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean isFirstLine = true;
-            int lineNumber = 0;
+        tracker.start(ProgressPhase.PARSING, totalBytes);
 
-            while ((line = br.readLine()) != null) {
-                lineNumber++;
+        // Skip header line
+        if (reader.readLine() != null) {
+            parseEmployeeLines(reader, 1, employees, employeeMap, counter, tracker);
+        }
+        tracker.finish(counter == null ? employees.size() : counter.getCount());
+        if (tracker.isCancelled()) {
+            throw new CancellationException(
+                    String.format("Parsing cancelled after %d employees", employees.size()));
+        }
 
-                // Skip header line
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
+        // Build the organizational hierarchy
+        buildHierarchy(employees, employeeMap, tracker);
 
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
+        return employees;
+    }
 
-                Employee employee = parseEmployeeLine(line, lineNumber);
-                employees.add(employee);
-                employeeMap.put(employee.getId(), employee);
+    /**
+     * Parses data rows appended to an already parsed file and links them into the existing hierarchy.
+     * The existing employees are only modified once all appended rows have been validated.
+     *
+     * @param reader reader positioned at the first appended row, with no header line
+     * @param linesAlreadyRead number of lines already consumed from the file, used for error messages
+     * @param employees employees parsed so far; the new employees are appended to it
+     * @param employeeMap index of the employees parsed so far by ID; the new employees are added to it
+     * @return the newly parsed employees
+     * @throws IOException if the data cannot be read
+     * @throws IllegalArgumentException if the data format is invalid
+     */
+    public List<Employee> appendEmployeeData(BufferedReader reader, int linesAlreadyRead,
+                                             List<Employee> employees,
+                                             Map<String, Employee> employeeMap) throws IOException {
+        List<Employee> added = new ArrayList<>();
+        Map<String, Employee> addedMap = new HashMap<>();
+        parseEmployeeLines(reader, linesAlreadyRead, added, addedMap, null, ProgressTracker.NONE);
+
+        for (Employee employee : added) {
+            if (!employee.isCEO()
+                    && !employeeMap.containsKey(employee.getManagerId())
+                    && !addedMap.containsKey(employee.getManagerId())) {
+                throw new IllegalArgumentException(
+                        String.format("Manager with ID %s not found for employee %s",
+                                employee.getManagerId(), employee.getId()));
             }
         }
 
-        // Build the organizational hierarchy
-        buildHierarchy(employees, employeeMap);
+        employees.addAll(added);
+        employeeMap.putAll(addedMap);
+        buildHierarchy(added, employeeMap, ProgressTracker.NONE);
 
-        return employees;
+        return added;
+    }
+
+    /**
+     * Parses data rows until the end of the reader or until the tracker is cancelled.
+     */
+    private void parseEmployeeLines(BufferedReader reader, int linesAlreadyRead,
+                                    List<Employee> employees,
+                                    Map<String, Employee> employeeMap,
+                                    CountingInputStream counter,
+                                    ProgressTracker tracker) throws IOException {
+        String line;
+        int lineNumber = linesAlreadyRead;
+        int sinceCheck = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            // The byte count is a volatile read, so it is only taken when the tracker checks
+            if (++sinceCheck == ProgressTracker.CHECK_INTERVAL) {
+                sinceCheck = 0;
+                if (!tracker.advance(ProgressTracker.CHECK_INTERVAL, completed(counter, lineNumber))) {
+                    return;
+                }
+            }
+
+            // Skip empty lines
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            Employee employee = parseEmployeeLine(line, lineNumber);
+            employees.add(employee);
+            employeeMap.put(employee.getId(), employee);
+        }
+        if (sinceCheck > 0) {
+            tracker.advance(sinceCheck, completed(counter, lineNumber));
+        }
+    }
+
+    private static long completed(CountingInputStream counter, int lineNumber) {
+        return counter == null ? lineNumber : counter.getCount();
     }
 
     /**
@@ -88,26 +222,49 @@ public class EmployeeDataParser {
                     String.format("Employee ID cannot be empty at line %d", lineNumber));
         }
 
-        double salary;
+        long salaryCents = parseSalaryCents(salaryStr, lineNumber);
+
+        return Employee.withSalaryCents(id, firstName, lastName, salaryCents, managerId);
+    }
+
+    /**
+     * Parses the salary column of a row, for readers that validate rows without building employees.
+     *
+     * @param salary the trimmed salary column
+     * @param lineNumber line of the row in the file, used for error messages
+     * @return the salary in cents
+     * @throws IllegalArgumentException if the salary is not a valid non-negative amount
+     */
+    public static long parseSalaryCents(String salary, int lineNumber) {
+        long salaryCents;
         try {
-            salary = Double.parseDouble(salaryStr);
-            if (salary < 0) {
-                throw new IllegalArgumentException(
-                        String.format("Salary cannot be negative at line %d", lineNumber));
-            }
+            salaryCents = Money.parseCents(salary);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException(
-                    String.format("Invalid salary format at line %d: %s", lineNumber, salaryStr));
+                    String.format("Invalid salary format at line %d: %s", lineNumber, salary));
         }
-
-        return new Employee(id, firstName, lastName, salary, managerId);
+        if (salaryCents < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Salary cannot be negative at line %d", lineNumber));
+        }
+        return salaryCents;
     }
 
     /**
      * Builds the manager-subordinate relationships in the organizational hierarchy.
      */
-    private void buildHierarchy(List<Employee> employees, Map<String, Employee> employeeMap) {
+    private void buildHierarchy(List<Employee> employees, Map<String, Employee> employeeMap,
+                                ProgressTracker tracker) {
+        tracker.start(ProgressPhase.HIERARCHY, employees.size());
+        long linked = 0;
+
         for (Employee employee : employees) {
+            if (!tracker.step(linked)) {
+                tracker.finish(linked);
+                throw new CancellationException(
+                        String.format("Hierarchy building cancelled after %d employees", linked));
+            }
+            linked++;
             if (!employee.isCEO()) {
                 String managerId = employee.getManagerId();
                 Employee manager = employeeMap.get(managerId);
@@ -122,5 +279,7 @@ public class EmployeeDataParser {
                 manager.addDirectReport(employee);
             }
         }
+
+        tracker.finish(linked);
     }
 }
\ No newline at end of file
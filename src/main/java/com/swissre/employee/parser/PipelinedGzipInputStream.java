@@ -0,0 +1,138 @@
+package com.swissre.employee.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a gzip stream on a background thread and hands the decompressed bytes
+ * to the reader through a bounded queue of buffers.
+ *
+ * Decompression and parsing therefore run on two cores at the same time, while the
+ * bounded queue keeps memory use fixed when the parser is slower than the decompressor.
+ */
+class PipelinedGzipInputStream extends InputStream {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int DEFAULT_QUEUE_CAPACITY = 16;
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final InputStream compressed;
+    private final BlockingQueue<byte[]> chunks;
+    private final Thread decompressor;
+    private volatile IOException failure;
+
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean finished;
+
+    PipelinedGzipInputStream(InputStream compressed) {
+        this(compressed, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    PipelinedGzipInputStream(InputStream compressed, int chunkSize, int queueCapacity) {
+        this.compressed = compressed;
+        this.chunks = new ArrayBlockingQueue<>(queueCapacity);
+        this.decompressor = new Thread(() -> decompress(chunkSize), "gzip-decompressor");
+        this.decompressor.setDaemon(true);
+        this.decompressor.start();
+    }
+
+    /**
+     * Runs on the background thread until the compressed input is exhausted or the stream is closed.
+     * Any failure is handed to the reader, which always receives the end marker unless it closed the stream.
+     */
+    private void decompress(int chunkSize) {
+        boolean closed = false;
+        try (GZIPInputStream gzip = new GZIPInputStream(compressed, chunkSize)) {
+            while (true) {
+                byte[] chunk = new byte[chunkSize];
+                int length = gzip.readNBytes(chunk, 0, chunkSize);
+                if (length == 0) {
+                    break;
+                }
+                chunks.put(length == chunkSize ? chunk : Arrays.copyOf(chunk, length));
+                if (length < chunkSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            // The reader closed the stream
+            closed = true;
+        } catch (IOException e) {
+            failure = e;
+        } catch (Throwable e) {
+            failure = new IOException("Decompression failed: " + e, e);
+        } finally {
+            if (!closed) {
+                try {
+                    chunks.put(END_OF_STREAM);
+                } catch (InterruptedException e) {
+                    // The reader closed the stream
+                }
+            }
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Takes the next decompressed chunk from the queue when the current one is used up.
+     *
+     * @return false once the end of the decompressed data has been reached
+     */
+    private boolean ensureAvailable() throws IOException {
+        while (position == current.length) {
+            if (finished) {
+                return false;
+            }
+            try {
+                current = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+            }
+            position = 0;
+            if (current == END_OF_STREAM) {
+                finished = true;
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        current = END_OF_STREAM;
+        position = 0;
+        decompressor.interrupt();
+        compressed.close();
+    }
+}
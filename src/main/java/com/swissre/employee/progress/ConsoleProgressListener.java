@@ -0,0 +1,49 @@
+package com.swissre.employee.progress;
+
+import java.io.PrintStream;
+
+/**
+ * Shows a live progress line with rate and estimated time remaining on a console stream.
+ */
+public class ConsoleProgressListener implements ProgressListener {
+
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private final PrintStream out;
+
+    public ConsoleProgressListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onProgress(Progress progress) {
+        StringBuilder line = new StringBuilder(96);
+        line.append('\r').append(progress.getPhase()).append(": ");
+
+        if (progress.getFraction() >= 0) {
+            line.append(String.format("%5.1f%% ", progress.getFraction() * 100));
+        }
+        line.append(String.format("%,d %s", progress.getItems(),
+                progress.getPhase() == ProgressPhase.PARSING ? "rows" : "employees"));
+
+        double rate = progress.getRatePerSecond();
+        if (progress.getPhase() == ProgressPhase.PARSING) {
+            line.append(String.format(", %.1f MB/s", rate / MEGABYTE));
+        } else {
+            line.append(String.format(", %,.0f/s", rate));
+        }
+
+        long etaNanos = progress.getEtaNanos();
+        if (etaNanos >= 0) {
+            long seconds = etaNanos / 1_000_000_000L;
+            line.append(String.format(", ETA %d:%02d", seconds / 60, seconds % 60));
+        }
+        line.append("   ");
+
+        out.print(line);
+        if (progress.isFinished()) {
+            out.println();
+        }
+        out.flush();
+    }
+}
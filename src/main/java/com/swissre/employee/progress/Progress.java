@@ -0,0 +1,83 @@
+package com.swissre.employee.progress;
+
+/**
+ * A progress update for one phase of an analysis run.
+ */
+public class Progress {
+    private final ProgressPhase phase;
+    private final long completed;
+    private final long total;
+    private final long items;
+    private final long elapsedNanos;
+    private final boolean finished;
+
+    public Progress(ProgressPhase phase, long completed, long total, long items, long elapsedNanos,
+                    boolean finished) {
+        this.phase = phase;
+        this.completed = completed;
+        this.total = total;
+        this.items = items;
+        this.elapsedNanos = elapsedNanos;
+        this.finished = finished;
+    }
+
+    public ProgressPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the amount done so far, in the phase's unit.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the total amount of work, in the phase's unit, or -1 if unknown.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of records processed so far, e.g. rows while parsing.
+     */
+    public long getItems() {
+        return items;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Tells whether this is the last update of the phase, sent when it completes or is cancelled.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the fraction done between 0 and 1, or -1 if the total is unknown.
+     */
+    public double getFraction() {
+        return total > 0 ? Math.min(1.0, (double) completed / total) : -1;
+    }
+
+    /**
+     * Gets the average rate so far, in the phase's unit per second.
+     */
+    public double getRatePerSecond() {
+        return elapsedNanos > 0 ? completed * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    /**
+     * Estimates the remaining time from the average rate so far, or -1 if it cannot be estimated.
+     */
+    public long getEtaNanos() {
+        if (total <= 0 || completed <= 0) {
+            return -1;
+        }
+        return (long) ((double) elapsedNanos * (total - completed) / completed);
+    }
+}
@@ -0,0 +1,13 @@
+package com.swissre.employee.progress;
+
+/**
+ * Receives throttled progress updates from a {@link ProgressTracker}.
+ * Callbacks run on the analyzing thread, so implementations should return quickly.
+ */
+public interface ProgressListener {
+
+    /**
+     * Called at most once per reporting interval while a phase runs, and once when it ends.
+     */
+    void onProgress(Progress progress);
+}
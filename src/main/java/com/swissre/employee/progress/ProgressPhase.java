@@ -0,0 +1,24 @@
+package com.swissre.employee.progress;
+
+/**
+ * The phases of an analysis run that report progress.
+ */
+public enum ProgressPhase {
+    PARSING("bytes"),
+    HIERARCHY("employees"),
+    SALARY_ANALYSIS("employees"),
+    REPORTING_LINE_ANALYSIS("employees");
+
+    private final String unit;
+
+    ProgressPhase(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Gets the unit of the completed and total amounts reported for this phase.
+     */
+    public String getUnit() {
+        return unit;
+    }
+}
@@ -0,0 +1,147 @@
+package com.swissre.employee.progress;
+
+/**
+ * Reports progress of the parsing and analysis loops and lets another thread cancel them.
+ *
+ * Loops call {@link #step(long)} once per record. The call is a counter increment almost every
+ * time; only every {@value #CHECK_INTERVAL} steps does it check the cancellation flag and the
+ * clock, and the listener is called at most once per reporting interval. Loops where computing the
+ * completed amount is not free count records themselves and call {@link #advance(int, long)} once
+ * per {@value #CHECK_INTERVAL} records instead. A cancelled loop stops early and returns what it has so far.
+ */
+public class ProgressTracker {
+
+    /**
+     * A tracker that never reports and is never cancelled.
+     */
+    public static final ProgressTracker NONE = new Disabled();
+
+    /**
+     * Number of records between two checks of the cancellation flag and the clock.
+     */
+    public static final int CHECK_INTERVAL = 4096; // power of two
+    private static final long DEFAULT_REPORT_INTERVAL_NANOS = 500_000_000L;
+
+    private final ProgressListener listener;
+    private final long reportIntervalNanos;
+    private volatile boolean cancelled;
+
+    private ProgressPhase phase;
+    private long total;
+    private long steps;
+    private long phaseStartNanos;
+    private long lastReportNanos;
+
+    public ProgressTracker(ProgressListener listener) {
+        this(listener, DEFAULT_REPORT_INTERVAL_NANOS);
+    }
+
+    public ProgressTracker(ProgressListener listener, long reportIntervalNanos) {
+        this.listener = listener;
+        this.reportIntervalNanos = reportIntervalNanos;
+    }
+
+    /**
+     * Starts a new phase.
+     *
+     * @param phase the phase being started
+     * @param total total amount of work in the phase's unit, or -1 if unknown
+     */
+    public void start(ProgressPhase phase, long total) {
+        this.phase = phase;
+        this.total = total;
+        this.steps = 0;
+        this.phaseStartNanos = System.nanoTime();
+        this.lastReportNanos = phaseStartNanos;
+    }
+
+    /**
+     * Records one processed record.
+     *
+     * @param completed amount done so far in the phase's unit
+     * @return false if the run has been cancelled and the loop should stop
+     */
+    public boolean step(long completed) {
+        if ((++steps & (CHECK_INTERVAL - 1)) != 0) {
+            return true;
+        }
+        return check(completed);
+    }
+
+    /**
+     * Records several processed records at once and checks for cancellation right away.
+     *
+     * @param count number of records processed since the last call
+     * @param completed amount done so far in the phase's unit
+     * @return false if the run has been cancelled and the loop should stop
+     */
+    public boolean advance(int count, long completed) {
+        steps += count;
+        return check(completed);
+    }
+
+    private boolean check(long completed) {
+        if (cancelled) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - lastReportNanos >= reportIntervalNanos) {
+            lastReportNanos = now;
+            listener.onProgress(new Progress(phase, completed, total, steps, now - phaseStartNanos, false));
+        }
+        return true;
+    }
+
+    /**
+     * Ends the current phase, completed or cancelled, with a final update.
+     *
+     * @param completed amount done in the phase's unit
+     */
+    public void finish(long completed) {
+        listener.onProgress(new Progress(phase, completed, total, steps,
+                System.nanoTime() - phaseStartNanos, true));
+    }
+
+    /**
+     * Asks the running loops to stop at their next check. Safe to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * The shared no-op tracker; it keeps no state so it can be used by many threads at once.
+     */
+    private static class Disabled extends ProgressTracker {
+        Disabled() {
+            super(null);
+        }
+
+        @Override
+        public void start(ProgressPhase phase, long total) {
+        }
+
+        @Override
+        public boolean step(long completed) {
+            return true;
+        }
+
+        @Override
+        public boolean advance(int count, long completed) {
+            return true;
+        }
+
+        @Override
+        public void finish(long completed) {
+        }
+
+        @Override
+        public void cancel() {
+            throw new UnsupportedOperationException("The disabled progress tracker cannot be cancelled");
+        }
+    }
+}
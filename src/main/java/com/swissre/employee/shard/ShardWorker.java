@@ -0,0 +1,90 @@
+package com.swissre.employee.shard;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.parser.EmployeeDataParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Entry point of a worker process started by {@link ShardedAnalyzer}.
+ *
+ * A worker parses one shard CSV, runs the regular analysis on it and writes the violations
+ * to a result file, one per line:
+ * <pre>
+ * S,id,firstName,lastName,salaryCents,subordinateSalaryTotalCents,subordinateCount
+ * R,id,firstName,lastName,salaryCents,managerLevels
+ * </pre>
+ * Names cannot contain commas, since the CSV rows they were read from are split on commas.
+ */
+public final class ShardWorker {
+
+    static final String SALARY_RECORD = "S";
+    static final String REPORTING_LINE_RECORD = "R";
+    static final int DATA_ERROR_EXIT_CODE = 3;
+
+    private ShardWorker() {
+    }
+
+    /**
+     * @param args shard CSV file, number of managers above the shard's top employees, result file
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: ShardWorker <shard-csv> <manager-levels-above> <result-file>");
+            System.exit(2);
+        }
+
+        try {
+            run(Paths.get(args[0]), Integer.parseInt(args[1]), Paths.get(args[2]));
+        } catch (IOException e) {
+            System.err.println("Error reading shard " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing shard " + args[0] + ": " + e.getMessage());
+            System.exit(DATA_ERROR_EXIT_CODE);
+        }
+    }
+
+    static void run(Path shardFile, int managerLevelsAbove, Path resultFile) throws IOException {
+        List<Employee> employees = new EmployeeDataParser().parseEmployeeData(shardFile.toString());
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+
+        try (BufferedWriter out = Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8)) {
+            for (SalaryAnalysisResult result : analyzer.analyzeSalaryCompliance(employees)) {
+                writeEmployee(out, SALARY_RECORD, result.getManager());
+                out.write(',');
+                out.write(Long.toString(result.getSubordinateSalaryTotalCents()));
+                out.write(',');
+                out.write(Integer.toString(result.getSubordinateCount()));
+                out.newLine();
+            }
+            for (ReportingLineResult result : analyzer.analyzeReportingLines(employees, managerLevelsAbove)) {
+                writeEmployee(out, REPORTING_LINE_RECORD, result.getEmployee());
+                out.write(',');
+                out.write(Integer.toString(result.getManagerLevels()));
+                out.newLine();
+            }
+        }
+    }
+
+    private static void writeEmployee(BufferedWriter out, String record, Employee employee) throws IOException {
+        out.write(record);
+        out.write(',');
+        out.write(employee.getId());
+        out.write(',');
+        out.write(employee.getFirstName());
+        out.write(',');
+        out.write(employee.getLastName());
+        out.write(',');
+        out.write(Long.toString(employee.getSalaryCents()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.swissre.employee.shard;
+
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.util.List;
+
+/**
+ * The merged results of a sharded analysis, in the same order as a single-process run.
+ *
+ * The employees in the results are detached copies: they carry the ID, name, salary and
+ * manager ID of the original rows, but no links to managers or direct reports.
+ */
+public class ShardedAnalysis {
+    private final List<SalaryAnalysisResult> salaryResults;
+    private final List<ReportingLineResult> reportingLineResults;
+    private final int workerCount;
+
+    public ShardedAnalysis(List<SalaryAnalysisResult> salaryResults,
+                           List<ReportingLineResult> reportingLineResults,
+                           int workerCount) {
+        this.salaryResults = salaryResults;
+        this.reportingLineResults = reportingLineResults;
+        this.workerCount = workerCount;
+    }
+
+    public List<SalaryAnalysisResult> getSalaryResults() {
+        return salaryResults;
+    }
+
+    public List<ReportingLineResult> getReportingLineResults() {
+        return reportingLineResults;
+    }
+
+    /**
+     * Gets the number of worker processes that were started, including the one for the top shard.
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+}
@@ -0,0 +1,500 @@
+package com.swissre.employee.shard;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.parser.EmployeeDataParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Analyzes an organization too large for one JVM by splitting it into subtrees and analyzing
+ * each shard in a separate worker process on the same machine.
+ *
+ * The coordinator never builds the full hierarchy. A first streaming pass over the CSV keeps
+ * only each employee's ID and manager, from which it computes depths and the manager at the
+ * cut depth above every deeper employee. A second pass copies each row into a shard CSV:
+ * <ul>
+ *   <li>the top shard holds every employee down to the cut depth;</li>
+ *   <li>each other shard holds whole subtrees below managers at the cut depth, with those
+ *       managers as roots, balanced by size across the workers.</li>
+ * </ul>
+ * Managers at the cut depth are the boundary between shards: their rows are in the top shard,
+ * so the salary average of their own managers is complete there, and they root their subtree,
+ * where the cut depth is passed to the worker as the number of managers above them.
+ * Each manager's salary is therefore checked in exactly one shard, and merging the results by
+ * row position reproduces a single-process run.
+ */
+public class ShardedAnalyzer {
+
+    private static final String COMMA_DELIMITER = ",";
+    private static final int SALARY_INDEX = 3;
+    private static final int MANAGER_ID_INDEX = 4;
+    private static final int NO_MANAGER = -1;
+    private static final int UNKNOWN_DEPTH = -1;
+    private static final int VISITING = -2;
+
+    private final int cutDepth;
+    private final int workers;
+    private final List<String> workerJvmOptions;
+    private final OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+
+    public ShardedAnalyzer(int cutDepth, int workers) {
+        this(cutDepth, workers, List.of());
+    }
+
+    /**
+     * @param cutDepth number of managers above the employees that root the subtree shards
+     * @param workers number of subtree shards, each analyzed in its own process
+     * @param workerJvmOptions extra JVM options for the worker processes, e.g. {@code -Xmx2g}
+     */
+    public ShardedAnalyzer(int cutDepth, int workers, List<String> workerJvmOptions) {
+        if (cutDepth < 0) {
+            throw new IllegalArgumentException("Cut depth cannot be negative: " + cutDepth);
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required: " + workers);
+        }
+        this.cutDepth = cutDepth;
+        this.workers = workers;
+        this.workerJvmOptions = workerJvmOptions;
+    }
+
+    /**
+     * Analyzes a CSV file in worker processes and merges their results.
+     *
+     * @param filePath path to the CSV file, optionally gzip-compressed
+     * @return the merged salary and reporting line results
+     * @throws IOException if the file cannot be read or a worker fails
+     * @throws IllegalArgumentException if the file format is invalid, an ID occurs twice
+     *                                  or the reporting lines contain a cycle
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public ShardedAnalysis analyze(String filePath) throws IOException, InterruptedException {
+        Skeleton skeleton = readSkeleton(filePath);
+        if (skeleton.size() == 0) {
+            return new ShardedAnalysis(new ArrayList<>(), new ArrayList<>(), 0);
+        }
+
+        Path workDirectory = Files.createTempDirectory("employee-shards");
+        ShardedAnalysis analysis;
+        try {
+            List<Shard> shards = writeShards(filePath, skeleton, workDirectory);
+            runWorkers(shards);
+            analysis = merge(skeleton, shards);
+        } catch (Throwable e) {
+            // Report the original failure, not a failure to clean up after it
+            try {
+                deleteDirectory(workDirectory);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        deleteDirectory(workDirectory);
+        return analysis;
+    }
+
+    /**
+     * First pass: reads only the IDs and manager IDs and computes every employee's depth.
+     * Rows are validated here as the parser would, so errors name the line in the original file
+     * rather than in a shard.
+     */
+    private Skeleton readSkeleton(String filePath) throws IOException {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        List<String> managerIds = new ArrayList<>();
+
+        try (BufferedReader reader = openReader(filePath)) {
+            String line = reader.readLine(); // header
+            int lineNumber = 1;
+            while (line != null && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                String[] values = line.split(COMMA_DELIMITER, -1);
+                if (values.length < 5) {
+                    throw new IllegalArgumentException(
+                            String.format("Invalid CSV format at line %d: expected 5 columns, found %d",
+                                    lineNumber, values.length));
+                }
+                String id = values[0].trim();
+                if (id.isEmpty()) {
+                    throw new IllegalArgumentException(
+                            String.format("Employee ID cannot be empty at line %d", lineNumber));
+                }
+                if (ordinals.putIfAbsent(id, ids.size()) != null) {
+                    throw new IllegalArgumentException(
+                            String.format("Duplicate employee ID %s at line %d", id, lineNumber));
+                }
+                EmployeeDataParser.parseSalaryCents(values[SALARY_INDEX].trim(), lineNumber);
+                ids.add(id);
+                managerIds.add(values[MANAGER_ID_INDEX].trim());
+            }
+        }
+
+        int size = ids.size();
+        int[] parent = new int[size];
+        for (int i = 0; i < size; i++) {
+            String managerId = managerIds.get(i);
+            if (managerId.isEmpty()) {
+                parent[i] = NO_MANAGER;
+            } else {
+                Integer manager = ordinals.get(managerId);
+                if (manager == null) {
+                    throw new IllegalArgumentException(
+                            String.format("Manager with ID %s not found for employee %s", managerId, ids.get(i)));
+                }
+                parent[i] = manager;
+            }
+        }
+
+        String[] idArray = ids.toArray(new String[0]);
+        return new Skeleton(idArray, ordinals, parent, computeDepths(idArray, parent));
+    }
+
+    /**
+     * Computes the number of managers above every employee, walking each chain only once.
+     */
+    private static int[] computeDepths(String[] ids, int[] parent) {
+        int size = parent.length;
+        int[] depth = new int[size];
+        Arrays.fill(depth, UNKNOWN_DEPTH);
+        int[] chain = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            int length = 0;
+            int current = i;
+            while (current != NO_MANAGER && depth[current] < 0) {
+                if (depth[current] == VISITING) {
+                    throw new IllegalArgumentException("Reporting lines contain a cycle at employee " + ids[current]);
+                }
+                depth[current] = VISITING;
+                chain[length++] = current;
+                current = parent[current];
+            }
+            int d = current == NO_MANAGER ? -1 : depth[current];
+            while (length > 0) {
+                depth[chain[--length]] = ++d;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Second pass: assigns the subtrees below the cut to shards and copies every row into its shard files.
+     */
+    private List<Shard> writeShards(String filePath, Skeleton skeleton, Path workDirectory) throws IOException {
+        int[] shardOf = assignSubtrees(skeleton);
+        int shardCount = 1;
+        for (int shard : shardOf) {
+            shardCount = Math.max(shardCount, shard + 1);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        BufferedWriter[] writers = new BufferedWriter[shardCount];
+        try {
+            for (int s = 0; s < shardCount; s++) {
+                Shard shard = new Shard(workDirectory.resolve("shard-" + s + ".csv"),
+                        workDirectory.resolve("shard-" + s + ".out"),
+                        workDirectory.resolve("shard-" + s + ".err"),
+                        s == 0 ? 0 : cutDepth);
+                shards.add(shard);
+                writers[s] = Files.newBufferedWriter(shard.csv, Charset.defaultCharset());
+            }
+
+            try (BufferedReader reader = openReader(filePath)) {
+                String header = reader.readLine();
+                for (BufferedWriter writer : writers) {
+                    writer.write(header);
+                    writer.newLine();
+                }
+
+                int ordinal = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    int depth = skeleton.depth[ordinal];
+                    if (depth <= cutDepth) {
+                        writers[0].write(line);
+                        writers[0].newLine();
+                    }
+                    if (depth >= cutDepth) {
+                        BufferedWriter writer = writers[shardOf[ordinal]];
+                        writer.write(depth == cutDepth ? withoutManager(line) : line);
+                        writer.newLine();
+                    }
+                    ordinal++;
+                }
+            }
+        } finally {
+            for (BufferedWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Assigns every employee at or below the cut depth to a subtree shard numbered from 1, placing
+     * the largest subtrees first on the least loaded shard. Employees above the cut get shard 0.
+     */
+    private int[] assignSubtrees(Skeleton skeleton) {
+        int size = skeleton.size();
+        int[] depth = skeleton.depth;
+
+        // Visit employees by increasing depth so every manager is resolved before their reports
+        int maxDepth = 0;
+        for (int d : depth) {
+            maxDepth = Math.max(maxDepth, d);
+        }
+        int[] start = new int[maxDepth + 2];
+        for (int d : depth) {
+            start[d + 1]++;
+        }
+        for (int d = 0; d <= maxDepth; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] byDepth = new int[size];
+        for (int i = 0; i < size; i++) {
+            byDepth[start[depth[i]]++] = i;
+        }
+
+        int[] subtreeOf = new int[size];
+        long[] subtreeSize = new long[size];
+        int subtrees = 0;
+        for (int i : byDepth) {
+            if (depth[i] < cutDepth) {
+                subtreeOf[i] = NO_MANAGER;
+            } else {
+                subtreeOf[i] = depth[i] == cutDepth ? i : subtreeOf[skeleton.parent[i]];
+                if (subtreeSize[subtreeOf[i]]++ == 0) {
+                    subtrees++;
+                }
+            }
+        }
+
+        // Largest first: subtree sizes in the high bits, employee ordinal in the low bits
+        long[] roots = new long[subtrees];
+        int r = 0;
+        for (int i = 0; i < size; i++) {
+            if (subtreeSize[i] > 0) {
+                roots[r++] = (subtreeSize[i] << 32) | i;
+            }
+        }
+        Arrays.sort(roots);
+
+        int shardCount = Math.min(workers, subtrees);
+        long[] load = new long[shardCount];
+        int[] shardOfRoot = new int[size];
+        for (int k = roots.length - 1; k >= 0; k--) {
+            int lightest = 0;
+            for (int s = 1; s < shardCount; s++) {
+                if (load[s] < load[lightest]) {
+                    lightest = s;
+                }
+            }
+            int root = (int) roots[k];
+            load[lightest] += roots[k] >>> 32;
+            shardOfRoot[root] = lightest + 1;
+        }
+
+        int[] shardOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            shardOf[i] = subtreeOf[i] == NO_MANAGER ? 0 : shardOfRoot[subtreeOf[i]];
+        }
+        return shardOf;
+    }
+
+    /**
+     * Starts one worker process per shard and waits for all of them.
+     */
+    private void runWorkers(List<Shard> shards) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (Shard shard : shards) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(workerJvmOptions);
+                command.add("-cp");
+                command.add(classPath);
+                command.add(ShardWorker.class.getName());
+                command.add(shard.csv.toString());
+                command.add(Integer.toString(shard.managerLevelsAbove));
+                command.add(shard.results.toString());
+
+                processes.add(new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(shard.errors.toFile())
+                        .start());
+            }
+
+            for (int s = 0; s < shards.size(); s++) {
+                int exitCode = processes.get(s).waitFor();
+                if (exitCode != 0) {
+                    String errors = Files.readString(shards.get(s).errors, Charset.defaultCharset()).trim();
+                    String message = String.format("Worker for shard %d failed with exit code %d: %s",
+                            s, exitCode, errors);
+                    if (exitCode == ShardWorker.DATA_ERROR_EXIT_CODE) {
+                        throw new IllegalArgumentException(message);
+                    }
+                    throw new IOException(message);
+                }
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Collects the workers' results into row order. Managers at the cut depth are reported by both
+     * the top shard and their own shard with identical reporting line results, so each row keeps one.
+     */
+    private ShardedAnalysis merge(Skeleton skeleton, List<Shard> shards) throws IOException {
+        int size = skeleton.size();
+        Employee[] employees = new Employee[size];
+        SalaryAnalysisResult[] salaryResults = new SalaryAnalysisResult[size];
+        ReportingLineResult[] reportingLineResults = new ReportingLineResult[size];
+        int salaryCount = 0;
+        int reportingLineCount = 0;
+
+        for (Shard shard : shards) {
+            try (BufferedReader reader = Files.newBufferedReader(shard.results, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] values = line.split(COMMA_DELIMITER, -1);
+                    int ordinal = skeleton.ordinals.get(values[1]);
+                    Employee employee = employees[ordinal];
+                    if (employee == null) {
+                        employee = Employee.withSalaryCents(values[1], values[2], values[3],
+                                Long.parseLong(values[4]), skeleton.managerIdOf(ordinal));
+                        employees[ordinal] = employee;
+                    }
+
+                    if (values[0].equals(ShardWorker.SALARY_RECORD)) {
+                        if (salaryResults[ordinal] == null) {
+                            salaryCount++;
+                        }
+                        salaryResults[ordinal] = analyzer.analyzeManagerSalary(employee,
+                                Long.parseLong(values[5]), Integer.parseInt(values[6]));
+                    } else {
+                        if (reportingLineResults[ordinal] == null) {
+                            reportingLineCount++;
+                        }
+                        reportingLineResults[ordinal] = new ReportingLineResult(employee,
+                                Integer.parseInt(values[5]), analyzer.getMaxManagerLevels());
+                    }
+                }
+            }
+        }
+
+        List<SalaryAnalysisResult> salary = new ArrayList<>(salaryCount);
+        List<ReportingLineResult> reportingLines = new ArrayList<>(reportingLineCount);
+        for (int i = 0; i < size; i++) {
+            if (salaryResults[i] != null) {
+                salary.add(salaryResults[i]);
+            }
+            if (reportingLineResults[i] != null) {
+                reportingLines.add(reportingLineResults[i]);
+            }
+        }
+        return new ShardedAnalysis(salary, reportingLines, shards.size());
+    }
+
+    /**
+     * Blanks the manager ID of a row, so the employee becomes a root of its shard.
+     */
+    private static String withoutManager(String line) {
+        String[] values = line.split(COMMA_DELIMITER, -1);
+        values[MANAGER_ID_INDEX] = "";
+        return String.join(COMMA_DELIMITER, values);
+    }
+
+    private static BufferedReader openReader(String filePath) throws IOException {
+        InputStream in = new FileInputStream(filePath);
+        if (filePath.endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, Charset.defaultCharset()));
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * The reporting structure of the organization by row position, without names or salaries.
+     */
+    private static class Skeleton {
+        final String[] ids;
+        final Map<String, Integer> ordinals;
+        final int[] parent;
+        final int[] depth;
+
+        Skeleton(String[] ids, Map<String, Integer> ordinals, int[] parent, int[] depth) {
+            this.ids = ids;
+            this.ordinals = ordinals;
+            this.parent = parent;
+            this.depth = depth;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        String managerIdOf(int ordinal) {
+            return parent[ordinal] == NO_MANAGER ? "" : ids[parent[ordinal]];
+        }
+    }
+
+    /**
+     * The files of one worker process.
+     */
+    private static class Shard {
+        final Path csv;
+        final Path results;
+        final Path errors;
+        final int managerLevelsAbove;
+
+        Shard(Path csv, Path results, Path errors, int managerLevelsAbove) {
+            this.csv = csv;
+            this.results = results;
+            this.errors = errors;
+            this.managerLevelsAbove = managerLevelsAbove;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.swissre.employee.watch;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.audit.ReportGenerator;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.parser.EmployeeDataParser;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches a directory for new or modified CSV files ({@code .csv} or {@code .csv.gz}) and
+ * re-runs the analysis when they land.
+ *
+ * A file is only processed once its size has been stable for the debounce interval, so partially
+ * written files are not picked up, and a stable file is parsed to its end even without a final line
+ * break. When a file has only grown since the last run, only the appended rows are parsed and linked
+ * into the existing hierarchy instead of reloading the whole file. Proving that it only grew means
+ * checksumming the previously parsed bytes again, so the I/O of an append is still O(file size);
+ * only the parsing is limited to the new rows.
+ */
+public class CsvDirectoryWatcher implements Closeable {
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final Charset CHARSET = Charset.defaultCharset(); // same as FileReader
+
+    private final Path directory;
+    private final EmployeeDataParser parser;
+    private final OrganizationAnalyzer analyzer;
+    private final ReportGenerator reporter;
+    private final long debounceMillis;
+
+    private final Map<Path, FileState> states = new HashMap<>();
+    private final Map<Path, PendingChange> pending = new HashMap<>();
+    private volatile WatchService watchService;
+
+    public CsvDirectoryWatcher(Path directory, EmployeeDataParser parser,
+                               OrganizationAnalyzer analyzer, ReportGenerator reporter) {
+        this(directory, parser, analyzer, reporter, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    public CsvDirectoryWatcher(Path directory, EmployeeDataParser parser,
+                               OrganizationAnalyzer analyzer, ReportGenerator reporter,
+                               long debounceMillis) {
+        this.directory = directory;
+        this.parser = parser;
+        this.analyzer = analyzer;
+        this.reporter = reporter;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Analyzes the CSV files already present and then keeps watching until {@link #close()} is called.
+     *
+     * @throws IOException if the directory cannot be watched
+     * @throws InterruptedException if the watching thread is interrupted
+     */
+    public void run() throws IOException, InterruptedException {
+        try (WatchService service = directory.getFileSystem().newWatchService()) {
+            watchService = service;
+            directory.register(service, ENTRY_CREATE, ENTRY_MODIFY);
+            scheduleExistingFiles();
+
+            while (true) {
+                WatchKey key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            scheduleExistingFiles();
+                        } else {
+                            Path file = directory.resolve((Path) event.context());
+                            if (isCsvFile(file)) {
+                                schedule(file);
+                            }
+                        }
+                    }
+                    key.reset();
+                }
+                processDueChanges();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called, stop watching
+        }
+    }
+
+    /**
+     * Stops a running {@link #run()} loop.
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService service = watchService;
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private void scheduleExistingFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (isCsvFile(file)) {
+                    schedule(file);
+                }
+            }
+        }
+    }
+
+    private void schedule(Path file) {
+        pending.put(file, new PendingChange(System.currentTimeMillis(), currentSize(file)));
+    }
+
+    /**
+     * Processes every pending file whose size has not changed for the debounce interval.
+     */
+    private void processDueChanges() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Path, PendingChange>> iterator = pending.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingChange> entry = iterator.next();
+            Path file = entry.getKey();
+            PendingChange change = entry.getValue();
+            if (now - change.lastEventMillis < debounceMillis) {
+                continue;
+            }
+
+            long size = currentSize(file);
+            if (size < 0) {
+                iterator.remove();
+                states.remove(file);
+            } else if (size != change.size) {
+                // Still being written
+                change.size = size;
+                change.lastEventMillis = now;
+            } else {
+                iterator.remove();
+                analyze(file);
+            }
+        }
+    }
+
+    private void analyze(Path file) {
+        try {
+            List<Employee> employees = refresh(file);
+            System.out.printf("Analyzing %s (%d employees)%n", file.getFileName(), employees.size());
+            reporter.generateReport(analyzer.analyzeSalaryCompliance(employees),
+                    analyzer.analyzeReportingLines(employees));
+        } catch (IOException e) {
+            System.err.println("Error reading file " + file + ": " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing employee data in " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the parsed organization for a file up to date, parsing only the appended
+     * bytes when the previously parsed content is unchanged and ended with a line break.
+     * If the last run ended inside a row, that row may have been continued, so the file is reloaded.
+     *
+     * @return all employees of the file with hierarchy built
+     */
+    List<Employee> refresh(Path file) throws IOException {
+        if (isGzipFile(file)) {
+            // Compressed files cannot be read from an offset, always reload them
+            return parser.parseEmployeeData(file.toString());
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            FileState state = states.remove(file);
+
+            if (state != null && state.endsWithLineBreak && isAppendOnly(channel, state, size)) {
+                if (size > state.offset) {
+                    appendRange(channel, state, size);
+                }
+            } else {
+                state = load(channel, size);
+            }
+            // Only kept once parsing succeeded, so a failed append is followed by a full reload
+            states.put(file, state);
+            return state.employees;
+        }
+    }
+
+    private FileState load(FileChannel channel, long end) throws IOException {
+        CRC32 checksum = new CRC32();
+        LineNumberReader reader = openRange(channel, 0, end, checksum);
+
+        List<Employee> employees = parser.parseEmployeeData(reader);
+
+        Map<String, Employee> employeeMap = new HashMap<>();
+        for (Employee employee : employees) {
+            employeeMap.put(employee.getId(), employee);
+        }
+        return new FileState(employees, employeeMap, end, reader.getLineNumber(), checksum,
+                endsWithLineBreak(channel, end));
+    }
+
+    private void appendRange(FileChannel channel, FileState state, long end) throws IOException {
+        LineNumberReader reader = openRange(channel, state.offset, end, state.checksum);
+
+        parser.appendEmployeeData(reader, state.lines, state.employees, state.employeeMap);
+
+        state.lines += reader.getLineNumber();
+        state.offset = end;
+        state.endsWithLineBreak = endsWithLineBreak(channel, end);
+    }
+
+    /**
+     * Opens a reader over {@code [start, end)} of the file that feeds every byte it reads into the checksum.
+     */
+    private LineNumberReader openRange(FileChannel channel, long start, long end, Checksum checksum)
+            throws IOException {
+        InputStream in = new BoundedInputStream(Channels.newInputStream(channel.position(start)), end - start);
+        return new LineNumberReader(new InputStreamReader(new CheckedInputStream(in, checksum), CHARSET));
+    }
+
+    /**
+     * Checks that the file still starts with the bytes parsed last time by comparing the
+     * checksum of the whole parsed prefix. This reads the prefix again but does not parse it.
+     */
+    private boolean isAppendOnly(FileChannel channel, FileState state, long size) throws IOException {
+        if (size < state.offset) {
+            return false;
+        }
+
+        CRC32 checksum = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        long position = 0;
+        while (position < state.offset) {
+            buffer.clear().limit((int) Math.min(BUFFER_BYTES, state.offset - position));
+            position += readFully(channel, buffer, position);
+            buffer.flip();
+            checksum.update(buffer);
+        }
+        return checksum.getValue() == state.checksum.getValue();
+    }
+
+    /**
+     * Checks whether the byte before {@code end} is a line break. An empty range has none, so a file
+     * whose header has not been read yet is always reloaded.
+     */
+    private boolean endsWithLineBreak(FileChannel channel, long end) throws IOException {
+        if (end == 0) {
+            return false;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        readFully(channel, last, end - 1);
+        return last.get(0) == '\n';
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - start) < 0) {
+                throw new IOException("File was truncated while reading");
+            }
+        }
+        return buffer.position() - start;
+    }
+
+    private static long currentSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isCsvFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".csv") || name.endsWith(".csv.gz");
+    }
+
+    private static boolean isGzipFile(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+
+    /**
+     * A file change waiting for its size to settle.
+     */
+    private static class PendingChange {
+        long lastEventMillis;
+        long size;
+
+        PendingChange(long lastEventMillis, long size) {
+            this.lastEventMillis = lastEventMillis;
+            this.size = size;
+        }
+    }
+
+    /**
+     * The parsed organization of a file, the position up to which it has been parsed and the
+     * checksum of every byte before it.
+     */
+    private static class FileState {
+        final List<Employee> employees;
+        final Map<String, Employee> employeeMap;
+        final CRC32 checksum;
+        long offset;
+        int lines;
+        boolean endsWithLineBreak;
+
+        FileState(List<Employee> employees, Map<String, Employee> employeeMap,
+                  long offset, int lines, CRC32 checksum, boolean endsWithLineBreak) {
+            this.employees = employees;
+            this.employeeMap = employeeMap;
+            this.offset = offset;
+            this.lines = lines;
+            this.checksum = checksum;
+            this.endsWithLineBreak = endsWithLineBreak;
+        }
+    }
+
+    /**
+     * Stops reading after a fixed number of bytes, so a file growing during a load is not read past
+     * the offset recorded for the next append.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
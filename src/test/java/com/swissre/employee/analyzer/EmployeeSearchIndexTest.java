@@ -0,0 +1,110 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSearchIndexTest {
+
+    private Employee ceo;
+    private Employee director;
+    private Employee sarah;
+    private Employee anna;
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // ceo -> director -> sarah -> anna
+        ceo = new Employee("1", "Joe", "Planck", 60000, null);
+        director = new Employee("2", "Martin", "Director", 45000, "1");
+        sarah = new Employee("3", "Sarah", "Connor", 47000, "2");
+        anna = new Employee("4", "Anna", "Andrews", 30000, "3");
+
+        link(ceo, director);
+        link(director, sarah);
+        link(sarah, anna);
+
+        index = new EmployeeSearchIndex(List.of(anna, sarah, director, ceo));
+    }
+
+    @Test
+    void testFindsByFirstAndLastNamePrefix() {
+        assertEquals(List.of(sarah), employees(index.searchByName("Sar")));
+        assertEquals(List.of(director), employees(index.searchByName("Dire")));
+        assertEquals(List.of(sarah), employees(index.searchByName("sarah con")));
+        assertTrue(index.searchByName("Connor Sarah").isEmpty());
+    }
+
+    @Test
+    void testEmployeeMatchingBothNamesIsReturnedOnce() {
+        assertEquals(List.of(anna), employees(index.searchByName("an")));
+    }
+
+    @Test
+    void testIgnoresCaseAccentsAndWhitespace() {
+        Employee renee = new Employee("5", "Renée", "Müller", 30000, "3");
+        link(sarah, renee);
+        EmployeeSearchIndex withAccents = new EmployeeSearchIndex(List.of(ceo, director, sarah, anna, renee));
+
+        assertEquals(List.of(renee), employees(withAccents.searchByName("  RENEE   mul")));
+        assertEquals(List.of(renee), employees(withAccents.searchByName("müll")));
+    }
+
+    @Test
+    void testMatchIncludesManagerChainAndIssues() {
+        EmployeeMatch match = index.findById(" 2 ");
+
+        assertEquals(director, match.getEmployee());
+        assertEquals(List.of(ceo), match.getManagerChain());
+        // Director earns 45000 but must earn at least 47000 * 1.2
+        assertNotNull(match.getSalaryIssue());
+        assertTrue(match.getSalaryIssue().isEarningTooLittle());
+        assertNull(match.getReportingLineIssue());
+        assertTrue(match.hasIssue());
+
+        EmployeeMatch bottom = index.findById("4");
+        assertEquals(List.of(sarah, director, ceo), bottom.getManagerChain());
+        assertFalse(bottom.hasIssue());
+
+        assertTrue(index.findById("1").getManagerChain().isEmpty());
+        assertNull(index.findById("99"));
+    }
+
+    @Test
+    void testLimitAndBlankQuery() {
+        List<Employee> employees = new ArrayList<>();
+        Employee boss = new Employee("0", "Big", "Boss", 500000, null);
+        employees.add(boss);
+        for (int i = 1; i <= 50; i++) {
+            Employee employee = new Employee(String.valueOf(i), "Sam", "Smith" + i, 50000, "0");
+            link(boss, employee);
+            employees.add(employee);
+        }
+        EmployeeSearchIndex large = new EmployeeSearchIndex(employees);
+
+        assertEquals(EmployeeSearchIndex.DEFAULT_LIMIT, large.searchByName("sam").size());
+        assertEquals(5, large.searchByName("smith", 5).size());
+        assertEquals(50, large.searchByName("s", 100).size());
+        assertTrue(large.searchByName("   ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> large.searchByName("sam", 0));
+    }
+
+    private static List<Employee> employees(List<EmployeeMatch> matches) {
+        List<Employee> employees = new ArrayList<>();
+        for (EmployeeMatch match : matches) {
+            employees.add(match.getEmployee());
+        }
+        return employees;
+    }
+
+    private static void link(Employee manager, Employee report) {
+        manager.addDirectReport(report);
+        report.setManager(manager);
+    }
+}
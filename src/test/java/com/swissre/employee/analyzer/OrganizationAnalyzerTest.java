@@ -86,6 +86,46 @@ class OrganizationAnalyzerTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void testManagerExactlyAtMinimumBoundary() {
+        Employee manager = new Employee("1", "Manager", "Person", 12001.14, null);
+        Employee sub = new Employee("2", "Sub", "Person", 10000.95, "1");
+
+        manager.addDirectReport(sub);
+        sub.setManager(manager);
+
+        // 10000.95 * 1.2 = 12001.14 exactly, but as doubles it evaluates to 12001.140000000001
+        // The exact cents comparison must treat the manager as compliant
+
+        List<SalaryAnalysisResult> results = analyzer.analyzeSalaryCompliance(List.of(manager, sub));
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testDifferenceRoundedUpToWholeCent() {
+        Employee manager = new Employee("1", "Manager", "Person", 399, null);
+        Employee sub1 = new Employee("2", "Sub", "One", 333, "1");
+        Employee sub2 = new Employee("3", "Sub", "Two", 333, "1");
+        Employee sub3 = new Employee("4", "Sub", "Three", 333.01, "1");
+
+        manager.addDirectReport(sub1);
+        manager.addDirectReport(sub2);
+        manager.addDirectReport(sub3);
+        sub1.setManager(manager);
+        sub2.setManager(manager);
+        sub3.setManager(manager);
+
+        // Average is 333.00333..., minimum is 399.604, so the manager is short by 0.604 -> 0.61
+
+        List<SalaryAnalysisResult> results = analyzer.analyzeSalaryCompliance(
+                List.of(manager, sub1, sub2, sub3));
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isEarningTooLittle());
+        assertEquals(61, results.get(0).getDifferenceCents());
+    }
+
     @Test
     void testReportingLineTooLong() {
         // Create a hierarchy with 5 levels
@@ -155,6 +195,143 @@ class OrganizationAnalyzerTest {
         assertEquals(2, results.size());
     }
 
+    @Test
+    void testReportingLinesCountedCorrectlyInAnyListOrder() {
+        Employee[] chain = new Employee[12];
+        chain[0] = new Employee("0", "Level", "0", 100000, null);
+        for (int i = 1; i < chain.length; i++) {
+            chain[i] = new Employee(String.valueOf(i), "Level", String.valueOf(i), 50000, String.valueOf(i - 1));
+        }
+        buildChain(chain);
+        Employee sideBranch = new Employee("side", "Side", "Branch", 50000, "6");
+        chain[6].addDirectReport(sideBranch);
+        sideBranch.setManager(chain[6]);
+
+        // Deepest first, so the first walk covers the whole chain and later ones reuse it
+        List<Employee> bottomUp = new ArrayList<>();
+        for (int i = chain.length - 1; i >= 0; i--) {
+            bottomUp.add(chain[i]);
+        }
+        bottomUp.add(sideBranch);
+
+        List<ReportingLineResult> results = analyzer.analyzeReportingLines(bottomUp);
+
+        assertEquals(8, results.size());
+        for (ReportingLineResult result : results) {
+            assertEquals(result.getEmployee().getManagerLevels(), result.getManagerLevels());
+        }
+        assertEquals("11", results.get(0).getEmployee().getId());
+        assertEquals(11, results.get(0).getManagerLevels());
+        assertSame(sideBranch, results.get(7).getEmployee());
+        assertEquals(7, results.get(7).getManagerLevels());
+    }
+
+    @Test
+    void testSinkReceivesSameViolationsAsLists() {
+        Employee ceo = new Employee("1", "CEO", "Person", 100000, null);
+        Employee level1 = new Employee("2", "L1", "Manager", 80000, "1");
+        Employee level2 = new Employee("3", "L2", "Manager", 70000, "2");
+        Employee level3 = new Employee("4", "L3", "Manager", 60000, "3");
+        Employee level4 = new Employee("5", "L4", "Manager", 55000, "4");
+        Employee level5 = new Employee("6", "L5", "Employee", 50000, "5");
+        buildChain(ceo, level1, level2, level3, level4, level5);
+        List<Employee> employees = List.of(ceo, level1, level2, level3, level4, level5);
+
+        List<SalaryAnalysisResult> salaryViolations = new ArrayList<>();
+        List<ReportingLineResult> reportingLineViolations = new ArrayList<>();
+        analyzer.analyze(employees, new ViolationSink() {
+            @Override
+            public void onSalaryViolation(SalaryAnalysisResult result) {
+                salaryViolations.add(result);
+            }
+
+            @Override
+            public void onReportingLineViolation(ReportingLineResult result) {
+                reportingLineViolations.add(result);
+            }
+        });
+
+        List<SalaryAnalysisResult> expected = analyzer.analyzeSalaryCompliance(employees);
+        assertEquals(expected.size(), salaryViolations.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getManager(), salaryViolations.get(i).getManager());
+            assertEquals(expected.get(i).getDifferenceCents(), salaryViolations.get(i).getDifferenceCents());
+        }
+        assertEquals(1, reportingLineViolations.size());
+        assertSame(level5, reportingLineViolations.get(0).getEmployee());
+    }
+
+    @Test
+    void testSummaryCountsAndTotalsViolations() {
+        List<Employee> employees = createTestOrganization();
+        ViolationSummary summary = new ViolationSummary();
+
+        analyzer.analyze(employees, summary);
+
+        // Manager1 is underpaid by 15000; Alice earns 50000 for a 34000 report, within 40800 - 51000
+        assertEquals(1, summary.getUnderpaidCount());
+        assertEquals(1_500_000, summary.getUnderpaidTotalCents());
+        assertEquals(0, summary.getOverpaidCount());
+        assertEquals(0, summary.getReportingLineViolationCount());
+        assertTrue(summary.hasViolations());
+    }
+
+    @Test
+    void testBandCheckOnPrimitivesMatchesResult() {
+        // 3 reports averaging 100.00: the band is 120.00 to 150.00 inclusive
+        long total = 30_000;
+        assertTrue(SalaryAnalysisResult.isWithinBand(12_000, total, 3, 120, 150));
+        assertTrue(SalaryAnalysisResult.isWithinBand(15_000, total, 3, 120, 150));
+        assertFalse(SalaryAnalysisResult.isWithinBand(11_999, total, 3, 120, 150));
+        assertFalse(SalaryAnalysisResult.isWithinBand(15_001, total, 3, 120, 150));
+        assertTrue(new SalaryAnalysisResult(null, 11_999, total, 3, 120, 150).hasIssue());
+        assertFalse(new SalaryAnalysisResult(null, 15_000, total, 3, 120, 150).hasIssue());
+    }
+
+    @Test
+    void testBandCheckForSalariesAboveHundredTimesLongRange() {
+        // 1e17 cents: multiplying the salary by 100 would overflow a long
+        Employee ceo = Employee.withSalaryCents("1", "CEO", "Person", 1_000_000_000_000_000L * 100, null);
+        Employee report = Employee.withSalaryCents("2", "Sub", "One", 5_000_000, "1");
+        ceo.addDirectReport(report);
+        report.setManager(ceo);
+
+        List<SalaryAnalysisResult> results = analyzer.analyzeSalaryCompliance(List.of(ceo, report));
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isEarningTooMuch());
+        assertEquals(100_000_000_000_000_000L - 7_500_000, results.get(0).getDifferenceCents());
+        assertFalse(SalaryAnalysisResult.isWithinBand(100_000_000_000_000_000L, 5_000_000, 1, 120, 150));
+    }
+
+    @Test
+    void testOverflowingSubordinateTotalIsRejected() {
+        Employee ceo = Employee.withSalaryCents("1", "CEO", "Person", 10_000_000, null);
+        for (int i = 2; i <= 3; i++) {
+            Employee report = Employee.withSalaryCents(String.valueOf(i), "Sub", "S" + i, Long.MAX_VALUE / 2 + 1, "1");
+            ceo.addDirectReport(report);
+            report.setManager(ceo);
+        }
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> analyzer.analyzeSalaryCompliance(List.of(ceo)));
+        assertTrue(e.getMessage().contains("employee 1"), e.getMessage());
+    }
+
+    @Test
+    void testDollarConstructorUsesPrecomputedBand() {
+        SalaryAnalysisResult tooLittle = new SalaryAnalysisResult(null, 50000, 45000, 54000, 67500);
+        assertTrue(tooLittle.isEarningTooLittle());
+        assertEquals(400000, tooLittle.getDifferenceCents());
+        assertEquals(45000, tooLittle.getAverageSubordinateSalary(), 0.001);
+
+        SalaryAnalysisResult tooMuch = new SalaryAnalysisResult(null, 70000.25, 45000, 54000, 67500);
+        assertTrue(tooMuch.isEarningTooMuch());
+        assertEquals(250025, tooMuch.getDifferenceCents());
+
+        assertFalse(new SalaryAnalysisResult(null, 67500, 45000, 54000, 67500).hasIssue());
+    }
+
     private List<Employee> createTestOrganization() {
         // Create the sample organization from the requirements
         Employee ceo = new Employee("123", "Joe", "Doe", 60000, null);
@@ -0,0 +1,72 @@
+package com.swissre.employee.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        long[] values = new long[100000];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 3000000 + random.nextInt(12000000);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[]{0.01, 0.05, 0.5, 0.95, 0.99}) {
+            long exact = values[(int) (quantile * (values.length - 1))];
+            long estimate = sketch.getQuantile(quantile);
+            assertEquals(exact, estimate, exact * 0.01, "quantile " + quantile);
+            assertTrue(sketch.getQuantileFloor(quantile) <= exact);
+            assertTrue(sketch.getQuantileCeiling(quantile) >= exact);
+        }
+    }
+
+    @Test
+    void testMergedChunksEqualSingleSketch() {
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        Random random = new Random(7);
+        for (int i = 0; i < 50000; i++) {
+            long value = random.nextInt(20000000);
+            whole.add(value);
+            (i % 2 == 0 ? first : second).add(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(whole.getCount(), first.getCount());
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            assertEquals(whole.getQuantile(quantile), first.getQuantile(quantile));
+        }
+    }
+
+    @Test
+    void testMemoryIsBoundedForWideRanges() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 64);
+        for (long value = 1; value < Long.MAX_VALUE / 4; value *= 2) {
+            sketch.add(value);
+        }
+        sketch.add(Long.MAX_VALUE / 2);
+
+        // High quantiles stay accurate, low ones are collapsed into the lowest kept bucket
+        long max = sketch.getQuantile(1.0);
+        assertEquals(Long.MAX_VALUE / 2, max, (Long.MAX_VALUE / 2) * 0.01);
+    }
+
+    @Test
+    void testEmptySketch() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertEquals(0, sketch.getCount());
+        assertEquals(0, sketch.getQuantile(0.5));
+    }
+}
@@ -0,0 +1,116 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportingPathIndexTest {
+
+    private Employee ceo;
+    private Employee director;
+    private Employee manager1;
+    private Employee manager2;
+    private Employee employee1;
+    private Employee employee2;
+    private ReportingPathIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // ceo -> director -> manager1 -> employee1
+        //                 -> manager2 -> employee2
+        ceo = new Employee("1", "CEO", "Person", 200000, null);
+        director = new Employee("2", "Director", "Person", 150000, "1");
+        manager1 = new Employee("3", "Manager", "One", 100000, "2");
+        manager2 = new Employee("4", "Manager", "Two", 100000, "2");
+        employee1 = new Employee("5", "Employee", "One", 70000, "3");
+        employee2 = new Employee("6", "Employee", "Two", 70000, "4");
+
+        link(ceo, director);
+        link(director, manager1);
+        link(director, manager2);
+        link(manager1, employee1);
+        link(manager2, employee2);
+
+        // Deliberately not in hierarchy order
+        index = new ReportingPathIndex(List.of(employee2, manager1, ceo, employee1, manager2, director));
+    }
+
+    @Test
+    void testLowestCommonManager() {
+        assertSame(director, index.getLowestCommonManager(employee1, employee2));
+        assertSame(director, index.getLowestCommonManager(manager1, employee2));
+        assertSame(manager1, index.getLowestCommonManager(manager1, employee1));
+        assertSame(employee1, index.getLowestCommonManager(employee1, employee1));
+    }
+
+    @Test
+    void testKthManager() {
+        assertSame(employee1, index.getKthManager(employee1, 0));
+        assertSame(manager1, index.getKthManager(employee1, 1));
+        assertSame(ceo, index.getKthManager(employee1, 3));
+        assertNull(index.getKthManager(employee1, 4));
+    }
+
+    @Test
+    void testDepthAndPathLength() {
+        assertEquals(0, index.getDepth(ceo));
+        assertEquals(3, index.getDepth(employee2));
+        assertEquals(4, index.getPathLength(employee1, employee2));
+        assertEquals(1, index.getPathLength(manager2, employee2));
+        assertEquals(0, index.getPathLength(ceo, ceo));
+    }
+
+    @Test
+    void testReportingChain() {
+        assertEquals(List.of(employee2, manager2, director, ceo), index.getReportingChain(employee2));
+    }
+
+    @Test
+    void testSeparateOrganizations() {
+        Employee otherCeo = new Employee("7", "Other", "CEO", 200000, null);
+        Employee otherEmployee = new Employee("8", "Other", "Employee", 70000, "7");
+        link(otherCeo, otherEmployee);
+
+        ReportingPathIndex forest = new ReportingPathIndex(
+                List.of(ceo, director, manager1, manager2, employee1, employee2, otherCeo, otherEmployee));
+
+        assertNull(forest.getLowestCommonManager(employee1, otherEmployee));
+        assertEquals(-1, forest.getPathLength(ceo, otherCeo));
+    }
+
+    @Test
+    void testDeepChainMatchesNaiveWalk() {
+        int length = 5000;
+        Employee[] chain = new Employee[length];
+        chain[0] = new Employee("0", "Level", "0", 100000, null);
+        for (int i = 1; i < length; i++) {
+            chain[i] = new Employee(String.valueOf(i), "Level", String.valueOf(i), 100000, String.valueOf(i - 1));
+            link(chain[i - 1], chain[i]);
+        }
+
+        ReportingPathIndex deep = new ReportingPathIndex(List.of(chain));
+
+        assertEquals(length - 1, deep.getDepth(chain[length - 1]));
+        assertSame(chain[1234], deep.getKthManager(chain[length - 1], length - 1 - 1234));
+        assertSame(chain[777], deep.getLowestCommonManager(chain[777], chain[4321]));
+    }
+
+    @Test
+    void testCycleIsRejected() {
+        Employee a = new Employee("1", "A", "Person", 100000, "2");
+        Employee b = new Employee("2", "B", "Person", 100000, "1");
+        link(a, b);
+        link(b, a);
+
+        assertThrows(IllegalArgumentException.class, () -> new ReportingPathIndex(List.of(a, b)));
+    }
+
+    private void link(Employee manager, Employee report) {
+        manager.addDirectReport(report);
+        report.setManager(manager);
+    }
+}
@@ -0,0 +1,141 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.SalaryOutlierResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryOutlierDetectorTest {
+
+    private SalaryOutlierDetector detector;
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        detector = new SalaryOutlierDetector();
+        employees = new ArrayList<>();
+
+        // CEO with two directors, each with 30 engineers earning 50000 - 52900
+        Employee ceo = add(new Employee("1", "CEO", "Person", 300000, null), null);
+        Employee director1 = add(new Employee("2", "Director", "One", 150000, "1"), ceo);
+        Employee director2 = add(new Employee("3", "Director", "Two", 150000, "1"), ceo);
+        for (int i = 0; i < 30; i++) {
+            add(new Employee("1" + i, "Engineer", "A" + i, 50000 + i * 100, "2"), director1);
+            add(new Employee("2" + i, "Engineer", "B" + i, 50000 + i * 100, "3"), director2);
+        }
+    }
+
+    @Test
+    void testFlagsEmployeesFarFromPeers() {
+        Employee overpaid = add(new Employee("900", "Over", "Paid", 250000, "2"), employees.get(1));
+        Employee underpaid = add(new Employee("901", "Under", "Paid", 10000, "3"), employees.get(2));
+
+        List<SalaryOutlierResult> results = detector.detectOutliers(employees);
+
+        assertTrue(results.stream().anyMatch(r -> r.getEmployee() == overpaid
+                && r.getScope() == SalaryOutlierResult.Scope.LEVEL && r.isAboveRange()));
+        assertTrue(results.stream().anyMatch(r -> r.getEmployee() == underpaid
+                && r.getScope() == SalaryOutlierResult.Scope.LEVEL && r.isBelowRange()));
+        assertTrue(results.stream().anyMatch(r -> r.getEmployee() == underpaid
+                && r.getScope() == SalaryOutlierResult.Scope.SUBTREE && r.getGroup().equals("3")));
+    }
+
+    @Test
+    void testNoOutliersInUniformOrganization() {
+        SalaryOutlierDetector strict = new SalaryOutlierDetector(0.0, 1.0, 1, 20, 0.01);
+
+        assertTrue(strict.detectOutliers(employees).isEmpty());
+    }
+
+    @Test
+    void testSketchesOfChunksMergeToSameResult() {
+        add(new Employee("900", "Over", "Paid", 250000, "2"), employees.get(1));
+        ReportingPathIndex index = new ReportingPathIndex(employees);
+
+        int middle = employees.size() / 2;
+        PeerGroupSketches merged = detector.buildSketches(employees.subList(0, middle), index);
+        merged.merge(detector.buildSketches(employees.subList(middle, employees.size()), index));
+
+        List<SalaryOutlierResult> fromChunks = detector.detectOutliers(employees, index, merged);
+        List<SalaryOutlierResult> fromWhole = detector.detectOutliers(employees);
+
+        assertEquals(fromWhole.size(), fromChunks.size());
+        for (int i = 0; i < fromWhole.size(); i++) {
+            assertSame(fromWhole.get(i).getEmployee(), fromChunks.get(i).getEmployee());
+            assertEquals(fromWhole.get(i).getUpperBoundCents(), fromChunks.get(i).getUpperBoundCents());
+        }
+    }
+
+    @Test
+    void testDeepLevelsShareOneGroup() {
+        // A 1000-level chain below director 2, one employee per level
+        Employee manager = employees.get(1);
+        for (int i = 0; i < 1000; i++) {
+            manager = add(new Employee("c" + i, "Chain", "C" + i, 40000 + i, manager.getId()), manager);
+        }
+        ReportingPathIndex index = new ReportingPathIndex(employees);
+
+        PeerGroupSketches sketches = detector.buildSketches(employees, index);
+
+        assertEquals(PeerGroupSketches.MAX_LEVEL_GROUPS, sketches.getLevelGroupCount());
+        assertEquals(2, sketches.getSubtreeGroupCount());
+        assertSame(sketches.getLevelSketch(PeerGroupSketches.MAX_LEVEL_GROUPS - 1), sketches.getLevelSketch(1001));
+        assertEquals(1001 - PeerGroupSketches.MAX_LEVEL_GROUPS + 2,
+                sketches.getLevelSketch(1001).getCount());
+        assertEquals("31+", PeerGroupSketches.levelGroupName(500));
+
+        // The shared group is large enough to be checked, and its outliers are reported under its name
+        Employee overpaid = add(new Employee("901", "Over", "Paid", 900000, manager.getId()), manager);
+        List<SalaryOutlierResult> results = detector.detectOutliers(employees);
+        assertTrue(results.stream().anyMatch(r -> r.getEmployee() == overpaid
+                && r.getScope() == SalaryOutlierResult.Scope.LEVEL && r.getGroup().equals("31+")));
+    }
+
+    @Test
+    void testFlatOrganizationWithManySubtreesSharesGroups() {
+        // 1100 direct reports of the CEO, each the top of its own subtree at the default cut depth
+        employees.clear();
+        Employee ceo = add(new Employee("1", "CEO", "Person", 300000, null), null);
+        for (int i = 0; i < 1100; i++) {
+            add(new Employee("r" + i, "Report", "R" + i, 50000 + (i % 50) * 100, "1"), ceo);
+        }
+        Employee overpaid = add(new Employee("r-over", "Over", "Paid", 400000, "1"), ceo);
+        ReportingPathIndex index = new ReportingPathIndex(employees);
+
+        PeerGroupSketches whole = detector.buildSketches(employees, index);
+        assertTrue(whole.hasSharedSubtreeGroups());
+        assertTrue(whole.getSubtreeGroupCount() <= PeerGroupSketches.MAX_SUBTREE_GROUPS);
+
+        List<SalaryOutlierResult> results = detector.detectOutliers(employees);
+        assertTrue(results.stream().anyMatch(r -> r.getEmployee() == overpaid
+                && r.getScope() == SalaryOutlierResult.Scope.LEVEL && r.isAboveRange()));
+
+        // Neither chunk alone exceeds the cap, but the merged sketches match the whole organization
+        int middle = employees.size() / 2;
+        PeerGroupSketches merged = detector.buildSketches(employees.subList(0, middle), index);
+        PeerGroupSketches second = detector.buildSketches(employees.subList(middle, employees.size()), index);
+        assertFalse(merged.hasSharedSubtreeGroups());
+        merged.merge(second);
+        assertTrue(merged.hasSharedSubtreeGroups());
+        for (Employee employee : employees.subList(1, employees.size())) {
+            QuantileSketch expected = whole.getSubtreeSketch(employee.getId());
+            QuantileSketch actual = merged.getSubtreeSketch(employee.getId());
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(expected.getQuantile(0.5), actual.getQuantile(0.5));
+        }
+    }
+
+    private Employee add(Employee employee, Employee manager) {
+        if (manager != null) {
+            manager.addDirectReport(employee);
+            employee.setManager(manager);
+        }
+        employees.add(employee);
+        return employee;
+    }
+}
@@ -0,0 +1,145 @@
+package com.swissre.employee.analyzer;
+
+import com.swissre.employee.model.DiffEntry;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.SnapshotDiff;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDifferTest {
+
+    private SnapshotDiffer differ;
+
+    @BeforeEach
+    void setUp() {
+        differ = new SnapshotDiffer();
+    }
+
+    @Test
+    void testHiresLeaversAndChanges() {
+        List<Employee> previous = organization(
+                new Employee("1", "CEO", "Person", 100000, null),
+                new Employee("2", "Manager", "One", 75000, "1"),
+                new Employee("3", "Sub", "One", 60000, "2"),
+                new Employee("4", "Sub", "Two", 55000, "2")
+        );
+        List<Employee> current = organization(
+                new Employee("1", "CEO", "Person", 100000, null),
+                new Employee("2", "Manager", "One", 78000, "1"),
+                new Employee("3", "Sub", "One", 60000, "1"),
+                new Employee("5", "Sub", "Three", 58000, "2")
+        );
+
+        SnapshotDiff diff = differ.diff(previous, current);
+
+        assertEquals(1, diff.getHires().size());
+        assertEquals("5", diff.getHires().get(0).getId());
+        assertEquals(1, diff.getLeavers().size());
+        assertEquals("4", diff.getLeavers().get(0).getId());
+        assertEquals(1, diff.getSalaryChanges().size());
+        assertEquals("2", diff.getSalaryChanges().get(0).getAfter().getId());
+        assertEquals(1, diff.getManagerChanges().size());
+        assertEquals("3", diff.getManagerChanges().get(0).getAfter().getId());
+    }
+
+    @Test
+    void testNewResolvedAndWorsenedSalaryViolations() {
+        // Manager 2: compliant before (60000 vs 45000 avg), underpaid after (60000 vs 55000 avg)
+        // Manager 3: underpaid by 6000 before, underpaid by 12000 after
+        // CEO: overpaid before, compliant after
+        List<Employee> previous = organization(
+                new Employee("1", "CEO", "Person", 120000, null),
+                new Employee("2", "Manager", "One", 60000, "1"),
+                new Employee("3", "Manager", "Two", 54000, "1"),
+                new Employee("4", "Sub", "One", 45000, "2"),
+                new Employee("5", "Sub", "Two", 50000, "3")
+        );
+        List<Employee> current = organization(
+                new Employee("1", "CEO", "Person", 80000, null),
+                new Employee("2", "Manager", "One", 60000, "1"),
+                new Employee("3", "Manager", "Two", 54000, "1"),
+                new Employee("4", "Sub", "One", 55000, "2"),
+                new Employee("5", "Sub", "Two", 55000, "3")
+        );
+
+        SnapshotDiff diff = differ.diff(previous, current);
+
+        assertEquals(1, diff.getNewSalaryViolations().size());
+        assertEquals("2", diff.getNewSalaryViolations().get(0).getManager().getId());
+        assertEquals(1, diff.getWorsenedSalaryViolations().size());
+        assertEquals("3", diff.getWorsenedSalaryViolations().get(0).getAfter().getManager().getId());
+        assertEquals(1, diff.getResolvedSalaryViolations().size());
+        assertEquals("1", diff.getResolvedSalaryViolations().get(0).getManager().getId());
+    }
+
+    @Test
+    void testDirectionFlipIsReversedNotWorsened() {
+        // CEO: overpaid by 30000 before (average 60000), underpaid by 6000 after (average 100000)
+        List<Employee> previous = organization(
+                new Employee("1", "CEO", "Person", 120000, null),
+                new Employee("2", "Manager", "One", 60000, "1")
+        );
+        List<Employee> current = organization(
+                new Employee("1", "CEO", "Person", 114000, null),
+                new Employee("2", "Manager", "One", 100000, "1")
+        );
+
+        SnapshotDiff diff = differ.diff(previous, current);
+
+        assertTrue(diff.getWorsenedSalaryViolations().isEmpty());
+        assertEquals(1, diff.getReversedSalaryViolations().size());
+        DiffEntry<SalaryAnalysisResult> reversed = diff.getReversedSalaryViolations().get(0);
+        assertTrue(reversed.getBefore().isEarningTooMuch());
+        assertTrue(reversed.getAfter().isEarningTooLittle());
+        assertEquals(600000, reversed.getAfter().getDifferenceCents());
+    }
+
+    @Test
+    void testNewReportingLineViolation() {
+        List<Employee> previous = organization(
+                new Employee("1", "L0", "Person", 100000, null),
+                new Employee("2", "L1", "Person", 80000, "1"),
+                new Employee("3", "L2", "Person", 65000, "2"),
+                new Employee("4", "L3", "Person", 52000, "3"),
+                new Employee("5", "L4", "Person", 42000, "4")
+        );
+        List<Employee> current = organization(
+                new Employee("1", "L0", "Person", 100000, null),
+                new Employee("2", "L1", "Person", 80000, "1"),
+                new Employee("3", "L2", "Person", 65000, "2"),
+                new Employee("4", "L3", "Person", 52000, "3"),
+                new Employee("5", "L4", "Person", 42000, "4"),
+                new Employee("6", "L5", "Person", 34000, "5")
+        );
+
+        SnapshotDiff diff = differ.diff(previous, current);
+
+        assertEquals(1, diff.getNewReportingLineViolations().size());
+        assertEquals("6", diff.getNewReportingLineViolations().get(0).getEmployee().getId());
+        assertTrue(diff.getResolvedReportingLineViolations().isEmpty());
+        assertTrue(diff.getWorsenedReportingLineViolations().isEmpty());
+    }
+
+    private List<Employee> organization(Employee... employees) {
+        Map<String, Employee> byId = new HashMap<>();
+        for (Employee employee : employees) {
+            byId.put(employee.getId(), employee);
+        }
+        for (Employee employee : employees) {
+            if (!employee.isCEO()) {
+                Employee manager = byId.get(employee.getManagerId());
+                employee.setManager(manager);
+                manager.addDirectReport(employee);
+            }
+        }
+        return new ArrayList<>(List.of(employees));
+    }
+}
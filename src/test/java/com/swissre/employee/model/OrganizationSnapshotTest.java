@@ -0,0 +1,118 @@
+package com.swissre.employee.model;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationSnapshotTest {
+
+    private Employee ceo;
+    private Employee manager;
+    private Employee employee;
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        ceo = new Employee("1", "CEO", "Person", 100000, null);
+        manager = new Employee("2", "Manager", "One", 60000, "1");
+        employee = new Employee("3", "Employee", "One", 50000, "2");
+
+        ceo.addDirectReport(manager);
+        manager.setManager(ceo);
+        manager.addDirectReport(employee);
+        employee.setManager(manager);
+
+        employees = new ArrayList<>(List.of(ceo, manager, employee));
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        OrganizationSnapshot snapshot = new OrganizationSnapshot(employees, 1);
+
+        assertTrue(ceo.isFrozen());
+        assertThrows(IllegalStateException.class, () -> employee.setManager(ceo));
+        assertThrows(IllegalStateException.class, () -> ceo.addDirectReport(employee));
+        assertThrows(UnsupportedOperationException.class, () -> manager.getDirectReports().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEmployees().remove(0));
+
+        assertSame(manager, snapshot.getEmployee("2"));
+        assertEquals(List.of(employee), manager.getDirectReports());
+    }
+
+    @Test
+    void testCopyEmployeesIsMutableDeepCopy() {
+        OrganizationSnapshot snapshot = new OrganizationSnapshot(employees, 1);
+
+        List<Employee> copies = snapshot.copyEmployees();
+
+        assertEquals(3, copies.size());
+        assertNotSame(ceo, copies.get(0));
+        assertFalse(copies.get(0).isFrozen());
+        assertSame(copies.get(0), copies.get(1).getManager());
+        assertEquals(List.of(copies.get(2)), copies.get(1).getDirectReports());
+        assertEquals(5000000, copies.get(2).getSalaryCents());
+    }
+
+    @Test
+    void testUpdatePublishesNewVersionWithoutTouchingOldOne() {
+        OrganizationStore store = new OrganizationStore(employees);
+        OrganizationSnapshot first = store.current();
+
+        OrganizationSnapshot second = store.update(copies -> {
+            Employee hire = new Employee("4", "New", "Hire", 40000, "2");
+            Employee copiedManager = copies.get(1);
+            copiedManager.addDirectReport(hire);
+            hire.setManager(copiedManager);
+            copies.add(hire);
+            return copies;
+        });
+
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertSame(second, store.current());
+        assertEquals(3, first.size());
+        assertEquals(4, second.size());
+        assertEquals(1, first.getEmployee("2").getDirectReports().size());
+        assertEquals(2, second.getEmployee("2").getDirectReports().size());
+    }
+
+    @Test
+    void testReadersAnalyzeWhileWriterPublishes() throws Exception {
+        OrganizationStore store = new OrganizationStore(employees);
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        OrganizationSnapshot snapshot = store.current();
+                        // Manager earns 60000 against 50000, which stays within range in every version
+                        assertTrue(analyzer.analyzeSalaryCompliance(snapshot.getEmployees()).stream()
+                                .noneMatch(r -> r.getManager().getId().equals("2")));
+                    }
+                }));
+            }
+            for (int i = 0; i < 100; i++) {
+                store.update(copies -> copies);
+            }
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(101, store.current().getVersion());
+    }
+}
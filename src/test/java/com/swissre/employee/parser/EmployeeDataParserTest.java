@@ -1,14 +1,24 @@
 package com.swissre.employee.parser;
 
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,6 +88,49 @@ class EmployeeDataParserTest {
         );
     }
 
+    @Test
+    void testDecimalSalaryParsedToExactCents(@TempDir Path tempDir) throws IOException {
+        Path csvFile = createTestCsvFile(tempDir,
+                "Id,firstName,lastName,salary,managerId\n" +
+                        "123,Joe,Doe,60000.5,\n" +
+                        "124,Martin,Chekov,45000.10,123\n"
+        );
+
+        List<Employee> employees = parser.parseEmployeeData(csvFile.toString());
+
+        assertEquals(6000050, findEmployeeById(employees, "123").getSalaryCents());
+        assertEquals(4500010, findEmployeeById(employees, "124").getSalaryCents());
+    }
+
+    @Test
+    void testSalaryWithSubCentPrecision(@TempDir Path tempDir) throws IOException {
+        Path csvFile = createTestCsvFile(tempDir,
+                "Id,firstName,lastName,salary,managerId\n" +
+                        "123,Joe,Doe,60000.005,\n"
+        );
+
+        assertThrows(IllegalArgumentException.class, () ->
+                parser.parseEmployeeData(csvFile.toString())
+        );
+    }
+
+    @Test
+    void testSalaryOutOfRange(@TempDir Path tempDir) throws IOException {
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("99999999999999999999"));
+        assertThrows(NumberFormatException.class, () -> Money.parseCents("92233720368547758.08"));
+
+        Path csvFile = createTestCsvFile(tempDir,
+                "Id,firstName,lastName,salary,managerId\n" +
+                        "123,Joe,Doe,60000,\n" +
+                        "124,Martin,Chekov,99999999999999999999,123\n"
+        );
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                parser.parseEmployeeData(csvFile.toString())
+        );
+        assertTrue(e.getMessage().contains("line 3"), e.getMessage());
+    }
+
     @Test
     void testNegativeSalary(@TempDir Path tempDir) throws IOException {
         Path csvFile = createTestCsvFile(tempDir,
@@ -139,6 +192,72 @@ class EmployeeDataParserTest {
         assertEquals(2, employees.size());
     }
 
+    @Test
+    void testParseGzipCompressedFile(@TempDir Path tempDir) throws IOException {
+        StringBuilder content = new StringBuilder("Id,firstName,lastName,salary,managerId\n1,CEO,Person,100000,\n");
+        for (int i = 2; i <= 20000; i++) {
+            content.append(i).append(",First").append(i).append(",Last,50000,1\n");
+        }
+        Path gzipFile = tempDir.resolve("employees.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<Employee> employees = parser.parseEmployeeData(gzipFile.toString());
+
+        assertEquals(20000, employees.size());
+        assertEquals(19999, employees.get(0).getDirectReports().size());
+        assertEquals("First20000", employees.get(19999).getFirstName());
+    }
+
+    @Test
+    void testCorruptGzipFile(@TempDir Path tempDir) throws IOException {
+        Path gzipFile = tempDir.resolve("employees.csv.gz");
+        Files.writeString(gzipFile, "not gzip data");
+
+        assertThrows(IOException.class, () ->
+                parser.parseEmployeeData(gzipFile.toString())
+        );
+    }
+
+    @Test
+    void testDecompressorFailureIsReportedToReader() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("disk went away");
+            }
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (InputStream in = new PipelinedGzipInputStream(failing)) {
+                IOException e = assertThrows(IOException.class, in::read);
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        });
+    }
+
+    @Test
+    void testAppendEmployeeData(@TempDir Path tempDir) throws IOException {
+        Path csvFile = createTestCsvFile(tempDir,
+                "Id,firstName,lastName,salary,managerId\n" +
+                        "1,CEO,Person,100000,\n"
+        );
+
+        List<Employee> employees = parser.parseEmployeeData(csvFile.toString());
+        Map<String, Employee> employeeMap = new HashMap<>();
+        employeeMap.put("1", employees.get(0));
+
+        List<Employee> added = parser.appendEmployeeData(
+                new BufferedReader(new StringReader("3,Employee,One,50000,2\n2,Manager,One,80000,1\n")),
+                2, employees, employeeMap);
+
+        assertEquals(2, added.size());
+        assertEquals(3, employees.size());
+        assertEquals(findEmployeeById(employees, "2"), findEmployeeById(employees, "3").getManager());
+        assertEquals(employees.get(0), findEmployeeById(employees, "2").getManager());
+    }
+
     private Path createTestCsvFile(Path tempDir, String content) throws IOException {
         Path csvFile = tempDir.resolve("test_employees.csv");
         Files.writeString(csvFile, content);
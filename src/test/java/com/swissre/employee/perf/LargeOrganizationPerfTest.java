@@ -0,0 +1,295 @@
+package com.swissre.employee.perf;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.analyzer.ViolationSummary;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.parser.EmployeeDataParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the parser and both analyses against super-linear regressions on 1M-employee organizations.
+ *
+ * Each phase is timed on a fixture of 1/8 of the size and on the full fixture, with the same warm-up
+ * runs before both. Linear work grows about 8x between them and quadratic work about 64x, so the
+ * growth budget leaves room for GC and cache effects while still failing on, e.g., walking every
+ * reporting chain up to the CEO. Run with {@code mvn test -Pperf}; the tests are excluded from the
+ * default build.
+ */
+@Tag("perf")
+@Timeout(value = 2, unit = TimeUnit.MINUTES)
+class LargeOrganizationPerfTest {
+
+    private static final int EMPLOYEES = 1_000_000;
+    private static final int SMALL_EMPLOYEES = EMPLOYEES / 8;
+    private static final double MAX_GROWTH = 24;
+    private static final int DEEP_CHAINS = 10;
+    private static final long LEAF_SALARY_CENTS = 5_000_000;
+
+    private static final long MAX_RETAINED_BYTES_PER_EMPLOYEE = 600;
+    private static final long MAX_SUMMARY_BYTES_PER_EMPLOYEE = 8;
+    private static final long MAX_REPORTING_LINE_BYTES_PER_EMPLOYEE = 16;
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    @TempDir
+    static Path tempDir;
+
+    /**
+     * Organization shapes with different worst cases.
+     */
+    enum Shape {
+        /** Ten chains below the CEO, each a tenth of the organization deep: 100k levels at 1M. */
+        DEEP_CHAINS,
+        /** Everyone reports directly to the CEO. */
+        WIDE,
+        /** Ten direct reports per manager, with salaries inside the band on every level. */
+        BALANCED
+    }
+
+    @ParameterizedTest
+    @EnumSource(Shape.class)
+    void testParsingScalesLinearly(Shape shape) throws IOException {
+        EmployeeDataParser parser = new EmployeeDataParser();
+        Path small = fixture(shape, SMALL_EMPLOYEES);
+        Path large = fixture(shape, EMPLOYEES);
+
+        long smallNanos = time(() -> assertEquals(SMALL_EMPLOYEES, parser.parseEmployeeData(small.toString()).size()));
+        long largeNanos = time(() -> assertEquals(EMPLOYEES, parser.parseEmployeeData(large.toString()).size()));
+
+        assertLinear("parsing " + shape, smallNanos, largeNanos);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Shape.class)
+    void testSalaryAnalysisScalesLinearly(Shape shape) throws IOException {
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+
+        List<Employee> small = parse(shape, SMALL_EMPLOYEES);
+        long smallNanos = time(() -> analyzer.analyzeSalaryCompliance(small));
+        small.clear();
+
+        List<Employee> large = parse(shape, EMPLOYEES);
+        long largeNanos = time(() -> analyzer.analyzeSalaryCompliance(large));
+
+        assertLinear("salary analysis " + shape, smallNanos, largeNanos);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Shape.class)
+    void testReportingLineAnalysisScalesLinearly(Shape shape) throws IOException {
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+
+        List<Employee> small = parse(shape, SMALL_EMPLOYEES);
+        long smallNanos = time(() -> analyzer.analyzeReportingLines(small));
+        small.clear();
+
+        List<Employee> large = parse(shape, EMPLOYEES);
+        long largeNanos = time(() -> analyzer.analyzeReportingLines(large));
+
+        assertLinear("reporting line analysis " + shape, smallNanos, largeNanos);
+    }
+
+    @Test
+    void testRetainedHeapPerEmployee() throws IOException {
+        Path file = fixture(Shape.BALANCED, EMPLOYEES);
+
+        long before = usedHeapAfterGc();
+        List<Employee> employees = new EmployeeDataParser().parseEmployeeData(file.toString());
+        long retained = usedHeapAfterGc() - before;
+
+        long perEmployee = retained / employees.size();
+        assertTrue(perEmployee <= MAX_RETAINED_BYTES_PER_EMPLOYEE,
+                String.format("Parsed organization retains %d bytes per employee, budget %d",
+                        perEmployee, MAX_RETAINED_BYTES_PER_EMPLOYEE));
+    }
+
+    @Test
+    void testSummaryOfCompliantOrganizationAllocatesAlmostNothing() throws IOException {
+        List<Employee> employees = parse(Shape.BALANCED, EMPLOYEES);
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        for (int i = 0; i < 3; i++) {
+            analyzer.analyzeSalaryCompliance(employees, new ViolationSummary());
+        }
+
+        ViolationSummary summary = new ViolationSummary();
+        long before = allocatedBytes();
+        analyzer.analyzeSalaryCompliance(employees, summary);
+        long allocated = allocatedBytes() - before;
+
+        assertFalse(summary.hasViolations());
+        long perEmployee = allocated / employees.size();
+        assertTrue(perEmployee <= MAX_SUMMARY_BYTES_PER_EMPLOYEE,
+                String.format("Summary pass allocated %d bytes (%d per employee), budget %d per employee",
+                        allocated, perEmployee, MAX_SUMMARY_BYTES_PER_EMPLOYEE));
+    }
+
+    @Test
+    void testReportingLinePassAllocationPerEmployee() throws IOException {
+        // Most employees violate, but results handed to the summary do not escape once compiled,
+        // so what remains is the pass's own bookkeeping
+        List<Employee> employees = parse(Shape.BALANCED, EMPLOYEES);
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            analyzer.analyzeReportingLines(employees, new ViolationSummary());
+        }
+
+        ViolationSummary summary = new ViolationSummary();
+        long before = allocatedBytes();
+        analyzer.analyzeReportingLines(employees, summary);
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(summary.getReportingLineViolationCount() > 0);
+        long perEmployee = allocated / employees.size();
+        assertTrue(perEmployee <= MAX_REPORTING_LINE_BYTES_PER_EMPLOYEE,
+                String.format("Reporting line pass allocated %d bytes (%d per employee), budget %d per employee",
+                        allocated, perEmployee, MAX_REPORTING_LINE_BYTES_PER_EMPLOYEE));
+    }
+
+    private static void assertLinear(String phase, long smallNanos, long largeNanos) {
+        double growth = (double) largeNanos / Math.max(smallNanos, 1);
+        assertTrue(growth <= MAX_GROWTH, String.format(
+                "%s grew %.1fx for 8x the employees (%d ms for %d, %d ms for %d), budget %.0fx", phase, growth,
+                TimeUnit.NANOSECONDS.toMillis(smallNanos), SMALL_EMPLOYEES,
+                TimeUnit.NANOSECONDS.toMillis(largeNanos), EMPLOYEES, MAX_GROWTH));
+    }
+
+    /**
+     * Runs a phase a fixed number of times untimed, then returns its fastest measured run, so both
+     * fixture sizes are timed with the same JIT warm-up and one-off GC pauses do not count.
+     */
+    private static long time(Phase phase) throws IOException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            phase.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            phase.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static List<Employee> parse(Shape shape, int size) throws IOException {
+        return new EmployeeDataParser().parseEmployeeData(fixture(shape, size).toString());
+    }
+
+    /**
+     * Writes a fixture CSV once and reuses it for later tests.
+     */
+    private static Path fixture(Shape shape, int size) throws IOException {
+        Path file = tempDir.resolve(shape.name().toLowerCase() + "-" + size + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            out.write("Id,firstName,lastName,salary,managerId");
+            out.newLine();
+            int chainLength = (size - 1) / DEEP_CHAINS;
+            int levels = balancedLevels(size);
+            writeRow(out, 0, shape == Shape.BALANCED ? balancedSalary(levels) : balancedSalary(1), -1);
+
+            for (int id = 1; id < size; id++) {
+                switch (shape) {
+                    case DEEP_CHAINS:
+                        // Every chain starts below the CEO and continues with the previous ID
+                        boolean chainStart = (id - 1) % chainLength == 0 || id > chainLength * DEEP_CHAINS;
+                        writeRow(out, id, LEAF_SALARY_CENTS, chainStart ? 0 : id - 1);
+                        break;
+                    case WIDE:
+                        writeRow(out, id, LEAF_SALARY_CENTS, 0);
+                        break;
+                    case BALANCED:
+                        int depth = depthOf(id);
+                        writeRow(out, id, balancedSalary(levels - depth), (id - 1) / 10);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown shape " + shape);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static void writeRow(BufferedWriter out, int id, long salaryCents, int managerId) throws IOException {
+        out.write(Integer.toString(id));
+        out.write(",First");
+        out.write(Integer.toString(id % 1000));
+        out.write(",Last");
+        out.write(Integer.toString(id));
+        out.write(',');
+        out.write(Long.toString(salaryCents / 100));
+        out.write('.');
+        out.write(Long.toString(salaryCents % 100 / 10));
+        out.write(Long.toString(salaryCents % 10));
+        out.write(',');
+        if (managerId >= 0) {
+            out.write(Integer.toString(managerId));
+        }
+        out.newLine();
+    }
+
+    /**
+     * Gets the depth of an ID in a complete tree with ten reports per manager, numbered breadth-first.
+     */
+    private static int depthOf(int id) {
+        int depth = 0;
+        while (id > 0) {
+            id = (id - 1) / 10;
+            depth++;
+        }
+        return depth;
+    }
+
+    private static int balancedLevels(int size) {
+        return depthOf(size - 1);
+    }
+
+    /**
+     * Each level up earns 135% of the level below, inside the 120% to 150% band.
+     */
+    private static long balancedSalary(int levelsAboveBottom) {
+        long salary = LEAF_SALARY_CENTS;
+        for (int i = 0; i < levelsAboveBottom; i++) {
+            salary = salary * 135 / 100;
+        }
+        return salary;
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,95 @@
+package com.swissre.employee.progress;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.parser.EmployeeDataParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressTrackerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPhasesReportFinalProgress() throws IOException {
+        Path file = writeChain(10_000);
+        List<Progress> updates = new ArrayList<>();
+        ProgressTracker tracker = new ProgressTracker(updates::add, 0);
+
+        List<Employee> employees = new EmployeeDataParser().parseEmployeeData(file.toString(), tracker);
+        new OrganizationAnalyzer().analyzeReportingLines(employees, tracker);
+
+        List<ProgressPhase> finished = new ArrayList<>();
+        Progress parsing = null;
+        for (Progress progress : updates) {
+            if (progress.isFinished()) {
+                finished.add(progress.getPhase());
+                if (progress.getPhase() == ProgressPhase.PARSING) {
+                    parsing = progress;
+                }
+            }
+        }
+        assertEquals(List.of(ProgressPhase.PARSING, ProgressPhase.HIERARCHY,
+                ProgressPhase.REPORTING_LINE_ANALYSIS), finished);
+
+        assertEquals(10_000, parsing.getItems());
+        assertEquals(1.0, parsing.getFraction(), 0.0001);
+        assertTrue(updates.size() > finished.size(), "Intermediate updates expected with no report interval");
+    }
+
+    @Test
+    void testCancelledAnalysisReturnsPartialResults() throws IOException {
+        List<Employee> employees = new EmployeeDataParser().parseEmployeeData(writeChain(10_000).toString());
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        ProgressTracker tracker = new ProgressTracker(progress -> { });
+        tracker.cancel();
+
+        List<ReportingLineResult> partial = analyzer.analyzeReportingLines(employees, tracker);
+        List<ReportingLineResult> full = analyzer.analyzeReportingLines(employees);
+
+        assertFalse(partial.isEmpty());
+        assertTrue(partial.size() < full.size());
+    }
+
+    @Test
+    void testCancelledParseThrows() throws IOException {
+        Path file = writeChain(10_000);
+        ProgressTracker tracker = new ProgressTracker(progress -> { });
+        tracker.cancel();
+
+        assertThrows(CancellationException.class,
+                () -> new EmployeeDataParser().parseEmployeeData(file.toString(), tracker));
+    }
+
+    @Test
+    void testDisabledTrackerCannotBeCancelled() {
+        assertThrows(UnsupportedOperationException.class, ProgressTracker.NONE::cancel);
+        assertFalse(ProgressTracker.NONE.isCancelled());
+    }
+
+    /**
+     * Writes a single reporting chain, the deepest shape for the reporting line pass.
+     */
+    private Path writeChain(int size) throws IOException {
+        StringBuilder csv = new StringBuilder("Id,firstName,lastName,salary,managerId\n");
+        csv.append("0,Chief,Executive,500000,\n");
+        for (int i = 1; i < size; i++) {
+            csv.append(i).append(",First").append(i).append(",Last").append(i)
+                    .append(",50000,").append(i - 1).append('\n');
+        }
+        Path file = tempDir.resolve("chain.csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+}
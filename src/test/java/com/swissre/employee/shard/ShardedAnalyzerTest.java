@@ -0,0 +1,159 @@
+package com.swissre.employee.shard;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.parser.EmployeeDataParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testShardedResultsMatchSingleProcessRun() throws Exception {
+        Path file = writeRandomOrganization(3000, 42);
+
+        List<Employee> employees = new EmployeeDataParser().parseEmployeeData(file.toString());
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        List<String> expectedSalary = describeSalary(analyzer.analyzeSalaryCompliance(employees));
+        List<String> expectedReportingLines = describeReportingLines(analyzer.analyzeReportingLines(employees));
+        assertFalse(expectedSalary.isEmpty());
+        assertFalse(expectedReportingLines.isEmpty());
+
+        for (int cutDepth : new int[] {0, 2, 5}) {
+            ShardedAnalysis sharded = new ShardedAnalyzer(cutDepth, 3).analyze(file.toString());
+
+            assertEquals(expectedSalary, describeSalary(sharded.getSalaryResults()), "cut depth " + cutDepth);
+            assertEquals(expectedReportingLines, describeReportingLines(sharded.getReportingLineResults()),
+                    "cut depth " + cutDepth);
+            // A single CEO gives only one subtree at cut depth 0
+            assertEquals(cutDepth == 0 ? 2 : 4, sharded.getWorkerCount());
+        }
+    }
+
+    @Test
+    void testCutBelowDeepestEmployeeUsesOnlyTopShard() throws Exception {
+        Path file = tempDir.resolve("small.csv");
+        Files.writeString(file, "Id,firstName,lastName,salary,managerId\n"
+                + "1,Joe,Doe,60000,\n"
+                + "2,Martin,Chekov,45000,1\n"
+                + "3,Bob,Ronstad,47000,2\n");
+
+        ShardedAnalysis sharded = new ShardedAnalyzer(10, 4).analyze(file.toString());
+
+        assertEquals(1, sharded.getWorkerCount());
+        // Martin earns 45000 but must earn at least 47000 * 1.2
+        assertEquals(1, sharded.getSalaryResults().size());
+        assertEquals("1", sharded.getSalaryResults().get(0).getManager().getManagerId());
+    }
+
+    @Test
+    void testRejectsCyclesAndDuplicateIds() throws IOException {
+        Path cycle = tempDir.resolve("cycle.csv");
+        Files.writeString(cycle, "Id,firstName,lastName,salary,managerId\n"
+                + "1,Joe,Doe,60000,\n"
+                + "2,Martin,Chekov,45000,3\n"
+                + "3,Bob,Ronstad,47000,2\n");
+        Path duplicate = tempDir.resolve("duplicate.csv");
+        Files.writeString(duplicate, "Id,firstName,lastName,salary,managerId\n"
+                + "1,Joe,Doe,60000,\n"
+                + "1,Martin,Chekov,45000,1\n");
+
+        ShardedAnalyzer analyzer = new ShardedAnalyzer(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(cycle.toString()));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(duplicate.toString()));
+    }
+
+    @Test
+    void testInvalidSalaryReportedWithOriginalLine() throws IOException {
+        Path file = tempDir.resolve("bad-salary.csv");
+        Files.writeString(file, "Id,firstName,lastName,salary,managerId\n"
+                + "1,Joe,Doe,60000,\n"
+                + "2,Martin,Chekov,45000,1\n"
+                + "3,Bob,Ronstad,47000,1\n"
+                + "4,Alice,Hasacat,50000,2\n"
+                + "5,Brett,Hardleaf,lots,3\n");
+
+        IllegalArgumentException sharded = assertThrows(IllegalArgumentException.class,
+                () -> new ShardedAnalyzer(1, 2).analyze(file.toString()));
+        IllegalArgumentException single = assertThrows(IllegalArgumentException.class,
+                () -> new EmployeeDataParser().parseEmployeeData(file.toString()));
+        assertEquals(single.getMessage(), sharded.getMessage());
+        assertTrue(sharded.getMessage().contains("line 6"), sharded.getMessage());
+    }
+
+    @Test
+    void testWorkerFailureIsReported() throws IOException {
+        Path file = tempDir.resolve("small.csv");
+        Files.writeString(file, "Id,firstName,lastName,salary,managerId\n"
+                + "1,Joe,Doe,60000,\n"
+                + "2,Martin,Chekov,45000,1\n");
+
+        IOException e = assertThrows(IOException.class,
+                () -> new ShardedAnalyzer(1, 1, List.of("-XX:+NoSuchOption")).analyze(file.toString()));
+        assertTrue(e.getMessage().contains("failed with exit code"), e.getMessage());
+    }
+
+    /**
+     * Writes an organization with random managers chosen among recent hires, so reporting
+     * lines run deep, and rows shuffled so reports often come before their managers.
+     */
+    private Path writeRandomOrganization(int size, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<String> rows = new ArrayList<>();
+        rows.add("0,Chief,Executive,250000.00,");
+        for (int i = 1; i < size; i++) {
+            int manager = Math.max(0, i - 1 - random.nextInt(Math.min(i, 40)));
+            long cents = 3_000_000 + random.nextInt(12_000_000);
+            rows.add(String.format("%d,First%d,Last%d,%d.%02d,%d", i, i, i, cents / 100, cents % 100, manager));
+        }
+        Collections.shuffle(rows, random);
+
+        StringBuilder csv = new StringBuilder("Id,firstName,lastName,salary,managerId\n");
+        for (String row : rows) {
+            csv.append(row).append('\n');
+        }
+        Path file = tempDir.resolve("organization.csv");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    private static List<String> describeSalary(List<SalaryAnalysisResult> results) {
+        List<String> descriptions = new ArrayList<>();
+        for (SalaryAnalysisResult result : results) {
+            Employee manager = result.getManager();
+            descriptions.add(String.join("|", manager.getId(), manager.getFullName(), manager.getManagerId(),
+                    Long.toString(result.getActualSalaryCents()),
+                    Long.toString(result.getSubordinateSalaryTotalCents()),
+                    Integer.toString(result.getSubordinateCount()),
+                    Long.toString(result.getDifferenceCents()),
+                    Boolean.toString(result.isEarningTooLittle())));
+        }
+        return descriptions;
+    }
+
+    private static List<String> describeReportingLines(List<ReportingLineResult> results) {
+        List<String> descriptions = new ArrayList<>();
+        for (ReportingLineResult result : results) {
+            Employee employee = result.getEmployee();
+            descriptions.add(String.join("|", employee.getId(), employee.getFullName(), employee.getManagerId(),
+                    Long.toString(employee.getSalaryCents()),
+                    Integer.toString(result.getManagerLevels())));
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,162 @@
+package com.swissre.employee.watch;
+
+import com.swissre.employee.analyzer.OrganizationAnalyzer;
+import com.swissre.employee.audit.ReportGenerator;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.parser.EmployeeDataParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvDirectoryWatcherTest {
+
+    private static final String HEADER = "Id,firstName,lastName,salary,managerId\n";
+
+    @TempDir
+    Path tempDir;
+
+    private CsvDirectoryWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = new CsvDirectoryWatcher(tempDir, new EmployeeDataParser(),
+                new OrganizationAnalyzer(), new ReportGenerator());
+    }
+
+    @Test
+    void testAppendedRowsAreLinkedIntoExistingHierarchy() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n2,Manager,One,80000,1\n");
+
+        List<Employee> initial = watcher.refresh(csvFile);
+        Employee manager = initial.get(1);
+
+        Files.writeString(csvFile, "3,Employee,One,50000,2\n", StandardOpenOption.APPEND);
+        List<Employee> refreshed = watcher.refresh(csvFile);
+
+        // Same instances are kept, only the new row was parsed
+        assertSame(initial, refreshed);
+        assertSame(manager, refreshed.get(1));
+        assertEquals(3, refreshed.size());
+        assertEquals(manager, refreshed.get(2).getManager());
+        assertTrue(manager.getDirectReports().contains(refreshed.get(2)));
+    }
+
+    @Test
+    void testRewrittenFileIsReloaded() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n2,Manager,One,80000,1\n");
+
+        List<Employee> initial = watcher.refresh(csvFile);
+
+        Files.writeString(csvFile, HEADER + "7,Other,CEO,100000,\n8,Other,Manager,80000,7\n9,New,Row,50000,8\n");
+        List<Employee> refreshed = watcher.refresh(csvFile);
+
+        assertNotSame(initial, refreshed);
+        assertEquals(3, refreshed.size());
+        assertEquals("7", refreshed.get(0).getId());
+    }
+
+    @Test
+    void testEditedEarlierRowInGrownFileIsReloaded() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        String tail = "2,Manager,One,80000,1\n3,Employee,One,50000,2\n4,Employee,Two,51000,2\n"
+                + "5,Employee,Three,52000,2\n";
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n" + tail);
+
+        List<Employee> initial = watcher.refresh(csvFile);
+
+        // Same length and same last rows, only the CEO's salary differs
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,120000,\n" + tail + "6,Employee,Four,53000,2\n");
+        List<Employee> refreshed = watcher.refresh(csvFile);
+
+        assertNotSame(initial, refreshed);
+        assertEquals(6, refreshed.size());
+        assertEquals(12000000, refreshed.get(0).getSalaryCents());
+    }
+
+    @Test
+    void testStableFileWithoutFinalLineBreakMatchesFullParse() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n2,Manager,One,80000,1\n"
+                + "3,Lead,One,60000,2\n4,Senior,One,50000,3\n5,Junior,One,40000,4\n6,Intern,One,30000,5");
+
+        List<Employee> watched = watcher.refresh(csvFile);
+        List<Employee> parsed = new EmployeeDataParser().parseEmployeeData(csvFile.toString());
+
+        assertEquals(6, watched.size());
+        assertEquals(describe(parsed), describe(watched));
+        OrganizationAnalyzer analyzer = new OrganizationAnalyzer();
+        assertEquals(analyzer.analyzeReportingLines(parsed).size(), analyzer.analyzeReportingLines(watched).size());
+    }
+
+    @Test
+    void testRowContinuedAfterStableFileIsReloaded() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        // The last row is cut off after manager ID "1" of "10"
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n10,Director,One,90000,1\n2,Manager,One,80000,1");
+
+        List<Employee> initial = watcher.refresh(csvFile);
+        assertEquals("1", initial.get(2).getManager().getId());
+
+        Files.writeString(csvFile, "0\n3,Employee,One,50000,2\n", StandardOpenOption.APPEND);
+        List<Employee> refreshed = watcher.refresh(csvFile);
+
+        assertNotSame(initial, refreshed);
+        assertEquals(4, refreshed.size());
+        assertEquals("10", refreshed.get(2).getManager().getId());
+        assertEquals(refreshed.get(2), refreshed.get(3).getManager());
+    }
+
+    @Test
+    void testRowsAppendedAfterHeaderOnlyFile() throws IOException {
+        Path withoutBreak = tempDir.resolve("header.csv");
+        Files.writeString(withoutBreak, HEADER.trim());
+        assertTrue(watcher.refresh(withoutBreak).isEmpty());
+
+        Files.writeString(withoutBreak, "\n1,CEO,Person,100000,\n", StandardOpenOption.APPEND);
+        assertEquals(1, watcher.refresh(withoutBreak).size());
+
+        Path withBreak = tempDir.resolve("header-line.csv");
+        Files.writeString(withBreak, HEADER);
+        List<Employee> initial = watcher.refresh(withBreak);
+        assertTrue(initial.isEmpty());
+
+        Files.writeString(withBreak, "1,CEO,Person,100000,\n", StandardOpenOption.APPEND);
+        List<Employee> refreshed = watcher.refresh(withBreak);
+        assertSame(initial, refreshed);
+        assertEquals(1, refreshed.size());
+    }
+
+    @Test
+    void testInvalidAppendLeavesHierarchyUnchanged() throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, HEADER + "1,CEO,Person,100000,\n");
+
+        List<Employee> initial = watcher.refresh(csvFile);
+
+        Files.writeString(csvFile, "2,Orphan,Row,50000,99\n", StandardOpenOption.APPEND);
+
+        assertThrows(IllegalArgumentException.class, () -> watcher.refresh(csvFile));
+        assertEquals(1, initial.size());
+        assertTrue(initial.get(0).getDirectReports().isEmpty());
+    }
+
+    private static List<String> describe(List<Employee> employees) {
+        List<String> descriptions = new ArrayList<>();
+        for (Employee employee : employees) {
+            descriptions.add(employee.getId() + "|" + employee.getFullName() + "|" + employee.getSalaryCents()
+                    + "|" + (employee.getManager() == null ? "" : employee.getManager().getId()));
+        }
+        return descriptions;
+    }
+}